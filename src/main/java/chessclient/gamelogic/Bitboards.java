@@ -0,0 +1,361 @@
+package chessclient.gamelogic;
+
+import chessclient.pieces.Color;
+
+/**
+ * Bitboards contains helper methods for working with bitboards - 64 bit masks in which
+ * every bit represents one square of the game board. Square at row x and column y has
+ * index x * 8 + y, so bit 0 is the top left square of the board (a8, black's side) and
+ * bit 63 is the bottom right square (h1, white's side).
+ * <p>
+ * Attacks of sliding pieces are looked up in magic bitboard tables: the occupied squares
+ * which can block a rook or a bishop on a square are multiplied by the square's magic number,
+ * and the top bits of the product index the attack set of that occupancy. The tables are
+ * filled once, when the class is loaded, together with the tables of squares attacked by
+ * knights, kings and pawns.
+ */
+public final class Bitboards {
+
+    public static final long LIGHT_SQUARES = 0xAA55AA55AA55AA55L;  /* a8 and h1 are light squares */
+
+    private static final int[][] ROOK_DIRECTIONS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+    private static final int[][] BISHOP_DIRECTIONS = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+    private static final int[][] QUEEN_DIRECTIONS = {{1, 1}, {1, -1}, {-1, 1},
+            {-1, -1}, {1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+    private static final int[][] KING_DIRECTIONS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1},
+            {1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+    private static final int[][] KNIGHT_DIRECTIONS = {{1, 2}, {2, 1}, {-1, 2}, {-2, 1},
+            {-2, -1}, {-1, -2}, {1, -2}, {2, -1}};
+    private static final int[][] BLACK_PAWN_CAPTURES = {{1, -1}, {1, 1}};
+    private static final int[][] WHITE_PAWN_CAPTURES = {{-1, -1}, {-1, 1}};
+
+    private static final long[] KNIGHT_ATTACKS = new long[64];
+    private static final long[] KING_ATTACKS = new long[64];
+    private static final long[][] PAWN_ATTACKS = new long[Color.COUNT][64];   /* indexed by color of the pawn */
+
+    private static final long[][] BETWEEN = new long[64][64];   /* squares strictly between two aligned squares */
+    private static final long[][] LINE = new long[64][64];      /* whole line through two aligned squares */
+
+    /* Magic numbers were found by trying random sparse numbers until one mapped every occupancy
+     * of the square onto an entry holding its attacks, occupancies with equal attacks share entries */
+    private static final long[] ROOK_MAGICS = {
+            0x01800081A0104000L, 0x0840044410042000L, 0x03801004A0000880L, 0x4200082012004004L,
+            0x1080020400800800L, 0x0100010008020400L, 0x0880328001000A00L, 0x2180045080002100L,
+            0x0052802380004000L, 0x0090400050002000L, 0x0004802001841004L, 0x4009003850016100L,
+            0x4001000500120800L, 0x8022000810020004L, 0x80450001000200A4L, 0x20410024420A8100L,
+            0x0080004000402018L, 0xA020004000500020L, 0x0204110020024100L, 0x0048008010000C80L,
+            0x8128010010090004L, 0x5404008080020004L, 0x1002040008010210L, 0xA000020001005884L,
+            0x1080400080002081L, 0x20100140C0002000L, 0x0010001680200080L, 0x44140B0100211000L,
+            0x0049850100100800L, 0x002A000280140080L, 0x0808100400020108L, 0x00002A820002410CL,
+            0x8020204000800080L, 0x5060004000802080L, 0x0008150441002000L, 0x8008210009001000L,
+            0x1000800400800800L, 0x0140800400800201L, 0x50450A0914001048L, 0x04508D42B2000401L,
+            0x002080204002800CL, 0x0000500020084000L, 0x5000820020420014L, 0x6600100008008080L,
+            0x0A0A0020100A0004L, 0x008200085012002CL, 0x8A00010002008080L, 0x24085110A0420004L,
+            0x64031C8000204100L, 0x0440008042210300L, 0x2840200080100080L, 0x4800100008008080L,
+            0x8004820400080080L, 0x0044040080020080L, 0x01001A0810210C00L, 0x0112408400410200L,
+            0x000A004110822102L, 0x0045001046002082L, 0x0000801020400A02L, 0x02C0210008041001L,
+            0x6081000800040211L, 0x0062000104081002L, 0x2804011088221004L, 0x0081000490412201L
+    };
+    private static final long[] BISHOP_MAGICS = {
+            0x0840020200410102L, 0x4610242800882000L, 0x00C1820081002008L, 0x0014042A80010100L,
+            0x1144042101000120L, 0x0002021004020223L, 0x0200580270100000L, 0x1C60202108201000L,
+            0x8802502401040C10L, 0x0810042448820208L, 0x0008041806104010L, 0x0408480A00204609L,
+            0x1030411040210001L, 0x000802900420B183L, 0x9120020250220812L, 0x0010204422080202L,
+            0x0020100408020864L, 0x0110920282080100L, 0x4001021808082380L, 0x0108122082004000L,
+            0x1004000200940284L, 0x1001005880600200L, 0x2000948206102200L, 0x08C8802104008200L,
+            0x00A0A00128820480L, 0x04841054600208C0L, 0x0108080014104010L, 0x2002008008008003L,
+            0x010101000010400AL, 0x0108080800808420L, 0x008A5204C0411006L, 0x161040408C840420L,
+            0x0001044000200810L, 0x0204420204200400L, 0x0000141000220084L, 0x1080202020080080L,
+            0x0040002020020080L, 0x04201040801100AEL, 0x8212420202006800L, 0x0224210040820042L,
+            0x3002010440002060L, 0x0444010110208880L, 0x0018110801000806L, 0x0506A8201101080CL,
+            0x2204200208800401L, 0x0218100880200204L, 0x0070210224800C02L, 0x100404840B0810C0L,
+            0x300400825090C010L, 0x2200221202200024L, 0x000A010401040200L, 0x0000180242021002L,
+            0x8000001020320418L, 0x0089421062008250L, 0x80A4301248410041L, 0x006801040C024C82L,
+            0x0406082108021048L, 0x283012030C020240L, 0x0020100110809002L, 0x0080040081084801L,
+            0x0461000140082210L, 0x0070014018014110L, 0x2280A0200C0940D2L, 0x0008080080820600L
+    };
+    private static final long[] ROOK_MASKS = new long[64];      /* squares which can block a rook, edges excluded */
+    private static final int[] ROOK_SHIFTS = new int[64];
+    private static final int[] ROOK_OFFSETS = new int[64];      /* start of each square's entries in ROOK_ATTACKS */
+    private static final long[] ROOK_ATTACKS;
+    private static final long[] BISHOP_MASKS = new long[64];    /* squares which can block a bishop, edges excluded */
+    private static final int[] BISHOP_SHIFTS = new int[64];
+    private static final int[] BISHOP_OFFSETS = new int[64];    /* start of each square's entries in BISHOP_ATTACKS */
+    private static final long[] BISHOP_ATTACKS;
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            KNIGHT_ATTACKS[square] = leaperAttacks(square, KNIGHT_DIRECTIONS);
+            KING_ATTACKS[square] = leaperAttacks(square, KING_DIRECTIONS);
+            PAWN_ATTACKS[Color.BLACK.ordinal()][square] = leaperAttacks(square, BLACK_PAWN_CAPTURES);
+            PAWN_ATTACKS[Color.WHITE.ordinal()][square] = leaperAttacks(square, WHITE_PAWN_CAPTURES);
+        }
+
+        for (int from = 0; from < 64; from++) {
+            for (int[] dir : QUEEN_DIRECTIONS) {
+                long fullLine = squareMask(from) | rayMask(from, dir[0], dir[1]) | rayMask(from, -dir[0], -dir[1]);
+                long path = 0L;
+                int x = row(from) + dir[0];
+                int y = column(from) + dir[1];
+                while (Board.isValidSquare(x, y)) {
+                    int to = toSquare(x, y);
+                    BETWEEN[from][to] = path;
+                    LINE[from][to] = fullLine;
+                    path |= squareMask(to);
+                    x += dir[0];
+                    y += dir[1];
+                }
+            }
+        }
+
+        ROOK_ATTACKS = initMagics(ROOK_DIRECTIONS, ROOK_MASKS, ROOK_MAGICS, ROOK_SHIFTS, ROOK_OFFSETS);
+        BISHOP_ATTACKS = initMagics(BISHOP_DIRECTIONS, BISHOP_MASKS, BISHOP_MAGICS, BISHOP_SHIFTS, BISHOP_OFFSETS);
+    }
+
+    private Bitboards() {
+
+    }
+
+    /* Fills the masks, shifts and offsets of a sliding piece moving in the given directions, and
+     * returns its attack table shared by all squares */
+    private static long[] initMagics(int[][] directions, long[] masks, long[] magics, int[] shifts, int[] offsets) {
+        int size = 0;
+        for (int square = 0; square < 64; square++) {
+            masks[square] = blockerMask(square, directions);
+            shifts[square] = 64 - Long.bitCount(masks[square]);
+            offsets[square] = size;
+            size += 1 << Long.bitCount(masks[square]);
+        }
+
+        long[] table = new long[size];
+        boolean[] filled = new boolean[size];
+        for (int square = 0; square < 64; square++) {
+            long mask = masks[square];
+            //enumerates every subset of the mask, the last subset is the mask itself
+            long occupied = 0L;
+            do {
+                int index = offsets[square] + (int) ((occupied * magics[square]) >>> shifts[square]);
+                long attacks = slidingAttacks(square, occupied, directions);
+                if (filled[index] && table[index] != attacks) {
+                    throw new IllegalStateException("Magic number of square " + square + " isn't valid");
+                }
+                filled[index] = true;
+                table[index] = attacks;
+                occupied = (occupied - mask) & mask;
+            } while (occupied != 0);
+        }
+        return table;
+    }
+
+    /* Returns squares on the rays from the given square whose occupancy changes the attacks, the
+     * last square of every ray is left out, because it's attacked whether it's occupied or not */
+    private static long blockerMask(int square, int[][] directions) {
+        long mask = 0L;
+        for (int[] dir : directions) {
+            int x = row(square) + dir[0];
+            int y = column(square) + dir[1];
+            while (Board.isValidSquare(x + dir[0], y + dir[1])) {
+                mask |= squareMask(toSquare(x, y));
+                x += dir[0];
+                y += dir[1];
+            }
+        }
+        return mask;
+    }
+
+    /* Returns squares from the given square to the edge of the board in the given direction */
+    private static long rayMask(int square, int dx, int dy) {
+        long ray = 0L;
+        int x = row(square) + dx;
+        int y = column(square) + dy;
+        while (Board.isValidSquare(x, y)) {
+            ray |= squareMask(toSquare(x, y));
+            x += dx;
+            y += dy;
+        }
+        return ray;
+    }
+
+    /**
+     * Returns squares strictly between the two given squares, if they lie on the same rank,
+     * file or diagonal.
+     *
+     * @param from index of the first square
+     * @param to   index of the second square
+     * @return bitboard of the squares between, empty if the squares aren't aligned
+     */
+    public static long between(int from, int to) {
+        return BETWEEN[from][to];
+    }
+
+    /**
+     * Returns the whole rank, file or diagonal going through both of the given squares.
+     *
+     * @param from index of the first square
+     * @param to   index of the second square
+     * @return bitboard of the line, empty if the squares aren't aligned
+     */
+    public static long line(int from, int to) {
+        return LINE[from][to];
+    }
+
+    /**
+     * Converts row and column indices of a square into its square index.
+     *
+     * @param x row index of the square
+     * @param y column index of the square
+     * @return index of the square in range 0..63
+     */
+    public static int toSquare(int x, int y) {
+        return x * Board.BOARD_WIDTH + y;
+    }
+
+    /**
+     * Returns row index of the given square.
+     *
+     * @param square index of the square
+     * @return row index of the square
+     */
+    public static int row(int square) {
+        return square >>> 3;
+    }
+
+    /**
+     * Returns column index of the given square.
+     *
+     * @param square index of the square
+     * @return column index of the square
+     */
+    public static int column(int square) {
+        return square & 7;
+    }
+
+    /**
+     * Returns a bitboard of all squares of the given row.
+     *
+     * @param row row index
+     * @return bitboard of the row
+     */
+    public static long rowMask(int row) {
+        return 0xFFL << (row * Board.BOARD_WIDTH);
+    }
+
+    /**
+     * Returns a bitboard with only the bit of the given square set.
+     *
+     * @param square index of the square
+     * @return bitboard of the single square
+     */
+    public static long squareMask(int square) {
+        return 1L << square;
+    }
+
+    /**
+     * Returns squares attacked by a knight on the given square.
+     *
+     * @param square index of the knight's square
+     * @return bitboard of the attacked squares
+     */
+    public static long knightAttacks(int square) {
+        return KNIGHT_ATTACKS[square];
+    }
+
+    /**
+     * Returns squares attacked by a king on the given square.
+     *
+     * @param square index of the king's square
+     * @return bitboard of the attacked squares
+     */
+    public static long kingAttacks(int square) {
+        return KING_ATTACKS[square];
+    }
+
+    /**
+     * Returns squares attacked by a pawn of the given color on the given square, the squares
+     * diagonally in front of it. The same squares hold the pawns of the other color which
+     * attack the given square.
+     *
+     * @param color  color of the pawn
+     * @param square index of the pawn's square
+     * @return bitboard of the attacked squares
+     */
+    public static long pawnAttacks(Color color, int square) {
+        return PAWN_ATTACKS[color.ordinal()][square];
+    }
+
+    /* Returns squares reachable from the given square by a single step in any of the given
+     * directions. Used only to fill the attack tables */
+    private static long leaperAttacks(int square, int[][] directions) {
+        long attacks = 0L;
+        int x = row(square);
+        int y = column(square);
+        for (int[] dir : directions) {
+            int newX = x + dir[0];
+            int newY = y + dir[1];
+            if (Board.isValidSquare(newX, newY)) {
+                attacks |= squareMask(toSquare(newX, newY));
+            }
+        }
+        return attacks;
+    }
+
+    /**
+     * Returns squares attacked by a rook on the given square. Each ray ends on the first
+     * occupied square, which is included in the result.
+     *
+     * @param square   index of the rook's square
+     * @param occupied bitboard of the occupied squares
+     * @return bitboard of the attacked squares
+     */
+    public static long rookAttacks(int square, long occupied) {
+        return ROOK_ATTACKS[ROOK_OFFSETS[square]
+                + (int) (((occupied & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square])];
+    }
+
+    /**
+     * Returns squares attacked by a bishop on the given square. Each ray ends on the first
+     * occupied square, which is included in the result.
+     *
+     * @param square   index of the bishop's square
+     * @param occupied bitboard of the occupied squares
+     * @return bitboard of the attacked squares
+     */
+    public static long bishopAttacks(int square, long occupied) {
+        return BISHOP_ATTACKS[BISHOP_OFFSETS[square]
+                + (int) (((occupied & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square])];
+    }
+
+    /**
+     * Returns squares attacked by a queen on the given square, the union of the rook and
+     * bishop attacks.
+     *
+     * @param square   index of the queen's square
+     * @param occupied bitboard of the occupied squares
+     * @return bitboard of the attacked squares
+     */
+    public static long queenAttacks(int square, long occupied) {
+        return rookAttacks(square, occupied) | bishopAttacks(square, occupied);
+    }
+
+    /* Returns squares attacked from the given square along the given directions, each ray ends
+     * on the first occupied square. Used only to fill the magic tables */
+    private static long slidingAttacks(int square, long occupied, int[][] directions) {
+        long attacks = 0L;
+        int x = row(square);
+        int y = column(square);
+        for (int[] dir : directions) {
+            int currX = x + dir[0];
+            int currY = y + dir[1];
+            while (Board.isValidSquare(currX, currY)) {
+                long mask = squareMask(toSquare(currX, currY));
+                attacks |= mask;
+                if ((occupied & mask) != 0) {
+                    break;
+                }
+                currX += dir[0];
+                currY += dir[1];
+            }
+        }
+        return attacks;
+    }
+}
@@ -3,41 +3,104 @@ package chessclient.gamelogic;
 import chessclient.pieces.*;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
- * The Board class stores the current state of the chess game board, as well as
- * Lists of the Pieces of the two players. WHITE player ALWAYS STARTS on the bottom
- * of the board and BLACK starts on the top of the board.
+ * The Board class stores the current state of the chess game board. WHITE player ALWAYS
+ * STARTS on the bottom of the board and BLACK starts on the top of the board. Next to the
+ * array of Pieces indexed by square, the Board keeps a bitboard for every piece type and
+ * color, which serves as the set of the pieces of that type and is used by the move
+ * generation (see Bitboards for the square numbering), and the square of each King. The Board also
+ * keeps the Zobrist key of the position (see Zobrist), which is updated incrementally
+ * by every change of the Board, together with the halfmove clock, the keys of the previous
+ * positions and the material signature used by the draw rules. The castling rights and the
+ * en passant square are kept by the Board and updated by every played Move.
+ * <p>
+ * The Pieces are shared and immutable (see Piece.of), all the state of the game is kept by
+ * the Board, so a copy of the Board only copies its arrays.
  */
-public class Board {
+public class Board implements BoardRepresentation {
 
     public static final int BOARD_WIDTH = 8;
     public static final int BOARD_HEIGHT = 8;
 
-    private final Piece[][] currBoard;       /* Stores the current state of the game board */
-    private final List<Piece> whPieces;       /* List of the white chess pieces */
-    private final List<Piece> blPieces;      /* List of the black chess pieces */
+    /* Bits of the castling rights */
+    public static final int WHITE_KINGSIDE = 1;
+    public static final int WHITE_QUEENSIDE = 2;
+    public static final int BLACK_KINGSIDE = 4;
+    public static final int BLACK_QUEENSIDE = 8;
+
+    /* Castling rights which are kept by a Move from or to each square. Moving the King or a Rook from
+     * its initial square, or capturing on a Rook's initial square, loses the rights tied to the square */
+    private static final int[] CASTLING_RIGHTS_KEPT = new int[BOARD_WIDTH * BOARD_HEIGHT];
+
+    static {
+        Arrays.fill(CASTLING_RIGHTS_KEPT, WHITE_KINGSIDE | WHITE_QUEENSIDE | BLACK_KINGSIDE | BLACK_QUEENSIDE);
+        CASTLING_RIGHTS_KEPT[Bitboards.toSquare(0, 0)] &= ~BLACK_QUEENSIDE;
+        CASTLING_RIGHTS_KEPT[Bitboards.toSquare(0, 4)] &= ~(BLACK_KINGSIDE | BLACK_QUEENSIDE);
+        CASTLING_RIGHTS_KEPT[Bitboards.toSquare(0, BOARD_WIDTH - 1)] &= ~BLACK_KINGSIDE;
+        CASTLING_RIGHTS_KEPT[Bitboards.toSquare(BOARD_HEIGHT - 1, 0)] &= ~WHITE_QUEENSIDE;
+        CASTLING_RIGHTS_KEPT[Bitboards.toSquare(BOARD_HEIGHT - 1, 4)] &= ~(WHITE_KINGSIDE | WHITE_QUEENSIDE);
+        CASTLING_RIGHTS_KEPT[Bitboards.toSquare(BOARD_HEIGHT - 1, BOARD_WIDTH - 1)] &= ~WHITE_KINGSIDE;
+    }
+
+    private final Piece[] currBoard;         /* Stores the current state of the game board, indexed by square */
+    private final long[][] pieceBitboards;   /* Squares of the pieces, indexed by Color and PieceType ordinals */
+    private final int[] kingSquares;         /* Square of the King of each Color, -1 if there is none */
+    private final long[] occupancy;          /* Squares occupied by the pieces of each Color */
+    private MoveUndo[] undoStack;            /* Records of the played Moves which can be taken back */
+    private int undoCount;                   /* Number of records on the undo stack */
+    private Color sideToMove;                /* Color of the player who plays the next Move */
+    private int castlingRights;              /* Castles which can still be played, see WHITE_KINGSIDE etc. */
+    private int enPassantSquare;             /* Square a Pawn can capture onto by en passant, -1 if there is none */
+    private long zobristKey;                 /* Zobrist key of the current position */
+    private final MoveList[] legalMoves;     /* Cached legal Moves of each Color, see getLegalMoves */
+    private final long[] legalMovesKeys;     /* Zobrist keys of the positions the cached Moves belong to */
+    private int halfmoveClock;               /* Moves since the last capture or Pawn move, for the fifty move rule */
+    private long[] positionHistory;          /* Zobrist keys of the positions before each played Move */
+    private int historyCount;                /* Number of keys in the position history */
+    private long materialKey;                /* Number of pieces of each Color and PieceType, 4 bits per count */
 
     /**
      * Creates an empty Board which can be filled with addPieceToBoard method of this class.
      */
     public Board() {
-        this.currBoard = new Piece[BOARD_WIDTH][BOARD_HEIGHT];
-        this.whPieces = new ArrayList<>();
-        this.blPieces = new ArrayList<>();
+        this.currBoard = new Piece[BOARD_WIDTH * BOARD_HEIGHT];
+        this.pieceBitboards = new long[Color.COUNT][PieceType.COUNT];
+        this.kingSquares = new int[]{-1, -1};
+        this.occupancy = new long[Color.COUNT];
+        this.undoStack = new MoveUndo[0];
+        this.sideToMove = Color.WHITE;
+        this.enPassantSquare = -1;
+        this.legalMoves = new MoveList[Color.COUNT];
+        this.legalMovesKeys = new long[Color.COUNT];
+        this.positionHistory = new long[0];
     }
 
     /**
-     * Creates a Board object encapsulating the two dimensional array of Pieces given to it.
+     * Creates a Board object holding the Pieces of the two dimensional array given to it.
      *
      * @param board two dimensional array of Pieces which represents a board
      */
     public Board(Piece[][] board) {
-        this.currBoard = board;
-        this.whPieces = new ArrayList<>();
-        this.blPieces = new ArrayList<>();
-        this.fillListsWithPieces();
+        this.currBoard = new Piece[BOARD_WIDTH * BOARD_HEIGHT];
+        for (int i = 0; i < BOARD_HEIGHT; i++) {
+            for (int j = 0; j < BOARD_WIDTH; j++) {
+                this.currBoard[Bitboards.toSquare(i, j)] = board[i][j];
+            }
+        }
+        this.pieceBitboards = new long[Color.COUNT][PieceType.COUNT];
+        this.kingSquares = new int[]{-1, -1};
+        this.occupancy = new long[Color.COUNT];
+        this.undoStack = new MoveUndo[0];
+        this.sideToMove = Color.WHITE;
+        this.enPassantSquare = -1;
+        this.legalMoves = new MoveList[Color.COUNT];
+        this.legalMovesKeys = new long[Color.COUNT];
+        this.positionHistory = new long[0];
+        this.fillBitboards();
+        this.updateState(computeCastlingRights(this), -1, Color.WHITE);
     }
 
     /**
@@ -46,80 +109,176 @@ public class Board {
      * @param original Board which is to be copied
      */
     public Board(Board original) {
-        this.currBoard = new Piece[BOARD_HEIGHT][BOARD_WIDTH];
-        this.whPieces = new ArrayList<>();
-        this.blPieces = new ArrayList<>();
-
-        for (int i = 0; i < BOARD_WIDTH; i++) {
-            for (int j = 0; j < BOARD_HEIGHT; j++) {
-                if (original.currBoard[j][i] == null) {
-                    this.currBoard[j][i] = null;
-                } else {
-                    Piece p = original.currBoard[j][i];
-                    this.currBoard[j][i] = p.copyPiece();
-                    if (p.getColor().equals(Color.BLACK)) {
-                        blPieces.add(this.currBoard[j][i]);
-                    } else {
-                        whPieces.add(this.currBoard[j][i]);
-                    }
-                }
-            }
+        this.currBoard = original.currBoard.clone();
+        this.pieceBitboards = new long[Color.COUNT][];
+        this.kingSquares = original.kingSquares.clone();
+        this.occupancy = original.occupancy.clone();
+        this.undoStack = new MoveUndo[0];
+        this.sideToMove = original.sideToMove;
+        this.castlingRights = original.castlingRights;
+        this.enPassantSquare = original.enPassantSquare;
+        this.zobristKey = original.zobristKey;
+        this.legalMoves = new MoveList[Color.COUNT];
+        this.legalMovesKeys = new long[Color.COUNT];
+        this.halfmoveClock = original.halfmoveClock;
+        this.positionHistory = Arrays.copyOf(original.positionHistory, original.historyCount);
+        this.historyCount = original.historyCount;
+        this.materialKey = original.materialKey;
+        for (int i = 0; i < this.pieceBitboards.length; i++) {
+            this.pieceBitboards[i] = original.pieceBitboards[i].clone();
         }
     }
 
     /**
-     * Updates the current board according to the move played by one of the players
+     * Plays the given packed Move on this Board, and remembers everything needed to take
+     * the Move back by unmakeMove.
      *
-     * @param move Move played by the player
+     * @param move packed Move to be played
      */
-    public void playMove(Move move) {
-        int[] from = move.getFrom();
-        int[] to = move.getTo();
-        SpecialMove specialMove = move.getSpecialMove();
-        Piece movedPiece = this.currBoard[from[0]][from[1]];
-        Piece capturedPiece = this.currBoard[to[0]][to[1]];
+    @Override
+    public void makeMove(int move) {
+        int from = PackedMove.getFrom(move);
+        int to = PackedMove.getTo(move);
+        Piece movedPiece = this.currBoard[from];
+        MoveUndo undo = this.pushUndo();
+
+        undo.move = move;
+        undo.movedPiece = movedPiece;
+        undo.capturedPiece = this.currBoard[to];
+        undo.capturedSquare = to;
+        undo.castledRook = null;
+        undo.sideToMove = this.sideToMove;
+        undo.castlingRights = this.castlingRights;
+        undo.enPassantSquare = this.enPassantSquare;
+        undo.zobristKey = this.zobristKey;
+        undo.halfmoveClock = this.halfmoveClock;
+        this.pushPositionHistory();
+
+        if (PackedMove.isEnPassant(move)) {
+            //Take care of en passant special behavior, the captured pawn is in the row of the start
+            undo.capturedSquare = from - Bitboards.column(from) + Bitboards.column(to);
+            undo.capturedPiece = this.currBoard[undo.capturedSquare];
+        } else if (PackedMove.isCastle(move)) {
+            //move the rook from the corner next to the king, on the other side than the king moves
+            int rookTo = to > from ? from + 1 : from - 1;
+            int rookFrom = to > from ? from + 3 : from - 4;
+            Piece movedRook = this.currBoard[rookFrom];
+
+            undo.castledRook = movedRook;
+            this.removePiece(rookFrom);
+            this.placePiece(rookTo, movedRook);
+        }
 
-        if (specialMove != null && specialMove.equals(SpecialMove.EN_PASSANT)) {
-            //Take care of en passant special behavior
-            capturedPiece = this.currBoard[from[0]][to[1]];
-            this.currBoard[from[0]][to[1]] = null;
-        } else if (specialMove != null && specialMove.equals(SpecialMove.CASTLE)) {
-            //move king onto its position
-            int rookTo = to[1] > from[1] ? 5 : 3;
-            int rookFrom = to[1] > from[1] ? 7 : 0;
-            Rook movedRook = (Rook) this.currBoard[from[0]][rookFrom];
+        //Remove captured piece from the board and its color's array list
+        if (undo.capturedPiece != null) {
+            this.removePiece(undo.capturedSquare);
+        }
 
-            this.currBoard[from[0]][rookFrom] = null;
-            this.currBoard[to[0]][rookTo] = movedRook;
-            movedRook.updatePosition(new int[]{from[0], rookTo});
-        } else if (specialMove != null && specialMove.equals(SpecialMove.PROMOTION)) {
+        this.removePiece(from);
+        if (PackedMove.isPromotion(move)) {
             //Promote the pawn into the new piece
-            if (movedPiece.getColor().equals(Color.BLACK)) {
-                this.blPieces.remove(movedPiece);
-                movedPiece = resolvePromotion(move, Color.BLACK);
-            } else {
-                this.whPieces.remove(movedPiece);
-                movedPiece = resolvePromotion(move, Color.WHITE);
-            }
-            this.addPieceToBoard(to[0], to[1], movedPiece);
+            movedPiece = Piece.of(PackedMove.getPromotion(move), movedPiece.getColor());
         }
 
-        //Remove captured piece from its color's array list
-        if (capturedPiece != null) {
-            if (capturedPiece.getColor().equals(Color.BLACK)) {
-                this.blPieces.remove(capturedPiece);
-            } else {
-                this.whPieces.remove(capturedPiece);
-            }
+        this.placePiece(to, movedPiece);
+
+        //captures and Pawn moves can't be taken back, so they restart the fifty move count
+        if (undo.capturedPiece != null || undo.movedPiece instanceof Pawn) {
+            this.halfmoveClock = 0;
+        } else {
+            this.halfmoveClock++;
+        }
+
+        //only a double step of a Pawn next to an enemy Pawn creates an en passant square, behind the Pawn
+        int enPassant = -1;
+        if (movedPiece instanceof Pawn && Math.abs(to - from) == 2 * BOARD_WIDTH) {
+            enPassant = capturableEnPassant(this, (from + to) / 2);
+        }
+        Color next = movedPiece.getColor().opposite();
+        int rights = this.castlingRights & castlingRightsKept(from) & castlingRightsKept(to);
+        this.updateState(rights, enPassant, next);
+    }
+
+    /**
+     * Takes back the last Move played on this Board by makeMove, and restores the Board
+     * into the state it was in before the Move.
+     */
+    @Override
+    public void unmakeMove() {
+        MoveUndo undo = this.undoStack[--this.undoCount];
+        int from = PackedMove.getFrom(undo.move);
+        int to = PackedMove.getTo(undo.move);
+
+        this.removePiece(to);
+        this.placePiece(from, undo.movedPiece);
+
+        if (undo.castledRook != null) {
+            int rookTo = to > from ? from + 1 : from - 1;
+            int rookFrom = to > from ? from + 3 : from - 4;
+            this.removePiece(rookTo);
+            this.placePiece(rookFrom, undo.castledRook);
+        }
+
+        if (undo.capturedPiece != null) {
+            this.placePiece(undo.capturedSquare, undo.capturedPiece);
         }
+        this.restoreState(undo);
+    }
+
+    /* Passes the turn to the opponent without moving a piece, used by the null move pruning of Search.
+     * The halfmove clock restarts, so that no repetition is detected across the null move */
+    void makeNullMove() {
+        MoveUndo undo = this.pushUndo();
+        undo.move = PackedMove.NONE;
+        undo.sideToMove = this.sideToMove;
+        undo.castlingRights = this.castlingRights;
+        undo.enPassantSquare = this.enPassantSquare;
+        undo.zobristKey = this.zobristKey;
+        undo.halfmoveClock = this.halfmoveClock;
+        this.pushPositionHistory();
+
+        this.halfmoveClock = 0;
+        this.updateState(this.castlingRights, -1, this.sideToMove.opposite());
+    }
 
-        this.updatePawns(); //update the pawns on the board which can't be taken by en passant after this turn
+    /* Takes back the null move played by makeNullMove */
+    void unmakeNullMove() {
+        this.restoreState(this.undoStack[--this.undoCount]);
+    }
+
+    /* Restores the state which isn't kept by the pieces from the undo record, and drops the last position
+     * from the history */
+    private void restoreState(MoveUndo undo) {
+        this.sideToMove = undo.sideToMove;
+        this.castlingRights = undo.castlingRights;
+        this.enPassantSquare = undo.enPassantSquare;
+        this.zobristKey = undo.zobristKey;
+        this.halfmoveClock = undo.halfmoveClock;
+        this.historyCount--;
+    }
+
+    @Override
+    public Board copy() {
+        return new Board(this);
+    }
 
-        this.currBoard[to[0]][to[1]] = movedPiece;
-        this.currBoard[from[0]][from[1]] = null;
-        if (movedPiece != null) {
-            movedPiece.updatePosition(to);
+    /* Appends the key of the current position to the position history, growing it if needed */
+    private void pushPositionHistory() {
+        if (this.historyCount == this.positionHistory.length) {
+            this.positionHistory = Arrays.copyOf(this.positionHistory, Math.max(16, this.historyCount * 2));
         }
+        this.positionHistory[this.historyCount++] = this.zobristKey;
+    }
+
+    /* Returns a free record on top of the undo stack, growing the stack if needed */
+    private MoveUndo pushUndo() {
+        if (this.undoCount == this.undoStack.length) {
+            this.undoStack = Arrays.copyOf(this.undoStack, Math.max(16, this.undoCount * 2));
+        }
+        if (this.undoStack[this.undoCount] == null) {
+            this.undoStack[this.undoCount] = new MoveUndo();
+        }
+        return this.undoStack[this.undoCount++];
     }
 
     /**
@@ -135,100 +294,409 @@ public class Board {
 
     /**
      * Places the given Piece onto its position on the game board, and adds it into
-     * a List of Pieces of the same color
+     * a List of Pieces of the same color. The castling rights are set up again from
+     * the Kings and Rooks which stand on their initial squares.
      *
      * @param x index of the row of the placed Piece
      * @param y index of the column of the placed Piece
      * @param p Piece added onto the Board
      */
+    @Override
     public void addPieceToBoard(int x, int y, Piece p) {
-        this.currBoard[x][y] = p;
+        int square = Bitboards.toSquare(x, y);
+        if (this.currBoard[square] != null) {
+            this.removePiece(square);
+        }
         if (p != null) {
-            if (p.getColor().equals(Color.BLACK)) {
-                this.blPieces.add(p);
-            } else {
-                this.whPieces.add(p);
-            }
+            this.placePiece(square, p);
         }
+        this.updateState(computeCastlingRights(this), this.enPassantSquare, this.sideToMove);
     }
 
-    private void updatePawns() {
-        List<Piece> allPieces = new ArrayList<>();
-        allPieces.addAll(this.blPieces);
-        allPieces.addAll(this.whPieces);
-        for (Piece p : allPieces) {
-            if (p instanceof Pawn) {
-                ((Pawn) p).updateMovedTwo();
-            }
+    /* Puts the Piece onto the given empty square and into its bitboards */
+    private void placePiece(int square, Piece p) {
+        this.currBoard[square] = p;
+        this.toggleBitboard(p, square);
+    }
+
+    /* Removes the Piece on the given square from the board and from its bitboards */
+    private void removePiece(int square) {
+        Piece p = this.currBoard[square];
+        this.currBoard[square] = null;
+        this.toggleBitboard(p, square);
+    }
+
+    /* Sets castling rights, en passant square and side to move, and updates their part of the Zobrist key */
+    private void updateState(int castlingRights, int enPassantSquare, Color sideToMove) {
+        this.zobristKey ^= Zobrist.castlingKey(this.castlingRights) ^ Zobrist.castlingKey(castlingRights);
+        this.zobristKey ^= Zobrist.enPassantKey(this.enPassantSquare) ^ Zobrist.enPassantKey(enPassantSquare);
+        this.zobristKey ^= Zobrist.sideKey(this.sideToMove) ^ Zobrist.sideKey(sideToMove);
+        this.castlingRights = castlingRights;
+        this.enPassantSquare = enPassantSquare;
+        this.sideToMove = sideToMove;
+    }
+
+    /* Returns castling rights which are kept by a Move from or to the given square, shared by the
+     * representations */
+    static int castlingRightsKept(int square) {
+        return CASTLING_RIGHTS_KEPT[square];
+    }
+
+    /* Returns the en passant square if a Pawn of the opponent stands next to the Pawn which has moved
+     * two squares, else -1. Without such a Pawn the en passant capture can't be played, and keeping the
+     * square would give equal positions different keys, shared by the representations */
+    static int capturableEnPassant(BoardRepresentation b, int square) {
+        if (square < 0) {
+            return -1;
         }
+        //the en passant square of a white Pawn is on the third rank, row 5
+        boolean white = Bitboards.row(square) == BOARD_HEIGHT - 3;
+        int pawnSquare = square + (white ? -BOARD_WIDTH : BOARD_WIDTH);
+        Piece capturer = Piece.of(PieceType.PAWN, white ? Color.BLACK : Color.WHITE);
+        int column = Bitboards.column(pawnSquare);
+        boolean capturable = (column > 0 && b.getPiece(pawnSquare - 1) == capturer)
+                || (column < BOARD_WIDTH - 1 && b.getPiece(pawnSquare + 1) == capturer);
+        return capturable ? square : -1;
     }
 
-    private void fillListsWithPieces() {
-        for (int i = 0; i < Board.BOARD_HEIGHT; i++) {
-            for (int j = 0; j < Board.BOARD_WIDTH; j++) {
-                if (this.currBoard[i][j] != null) {
-                    if (this.currBoard[i][j].getColor().equals(Color.BLACK)) {
-                        this.blPieces.add(this.currBoard[i][j]);
-                    } else {
-                        this.whPieces.add(this.currBoard[i][j]);
-                    }
-                }
+    /* Derives the castling rights from the Kings and Rooks which stand on their initial squares, used
+     * when a board is set up from Pieces, played Moves update the rights themselves */
+    static int computeCastlingRights(BoardRepresentation b) {
+        return computeCastlingRights(b, Color.WHITE, BOARD_HEIGHT - 1, WHITE_KINGSIDE, WHITE_QUEENSIDE)
+                | computeCastlingRights(b, Color.BLACK, 0, BLACK_KINGSIDE, BLACK_QUEENSIDE);
+    }
+
+    private static int computeCastlingRights(BoardRepresentation b, Color color, int row, int kingside,
+                                             int queenside) {
+        if (b.getPiece(row, 4) != Piece.of(PieceType.KING, color)) {
+            return 0;
+        }
+        int rights = 0;
+        Piece rook = Piece.of(PieceType.ROOK, color);
+        if (b.getPiece(row, BOARD_WIDTH - 1) == rook) {
+            rights |= kingside;
+        }
+        if (b.getPiece(row, 0) == rook) {
+            rights |= queenside;
+        }
+        return rights;
+    }
+
+    private void fillBitboards() {
+        for (int i = 0; i < this.currBoard.length; i++) {
+            if (this.currBoard[i] != null) {
+                this.toggleBitboard(this.currBoard[i], i);
             }
         }
     }
 
-    private Piece resolvePromotion(Move move, Color color) {
-        int[] initPos = move.getTo();
-        String promotionId = move.getPromotionIdentifier();
-        switch (promotionId) {
-            case "bishop":
-                return new Bishop(initPos, color);
-            case "knight":
-                return new Knight(initPos, color);
-            case "rook":
-                return new Rook(initPos, color);
-            default:
-                return new Queen(initPos, color);
+    /* Flips the bit of the given square in the bitboards of the Piece's type and color, the Piece's key,
+     * counts the Piece in or out of the material signature, and keeps track of the King's square */
+    private void toggleBitboard(Piece p, int square) {
+        long mask = Bitboards.squareMask(square);
+        int color = p.getColor().ordinal();
+        int type = p.getType().ordinal();
+        this.pieceBitboards[color][type] ^= mask;
+        this.occupancy[color] ^= mask;
+        this.zobristKey ^= Zobrist.pieceKey(p.getColor(), p.getType(), square);
+        long count = 1L << materialShift(color, type);
+        this.materialKey += (this.pieceBitboards[color][type] & mask) != 0 ? count : -count;
+        if (type == PieceType.KING.ordinal()) {
+            long kings = this.pieceBitboards[color][type];
+            this.kingSquares[color] = kings == 0 ? -1 : Long.numberOfTrailingZeros(kings);
         }
     }
 
+    /* Position of the count of the pieces of the given color and type in the material signature */
+    private static int materialShift(int color, int type) {
+        return (color * PieceType.COUNT + type) * 4;
+    }
+
     /**
-     * Returns pieces of the white player
+     * Returns pieces of the white player, grouped by their type. The List is created
+     * from the bitboards on every call, so it isn't changed by later Moves. The Pieces
+     * are shared, their squares are kept by the bitboards (see getBitboard).
      *
      * @return List<Pieces> containing pieces of the white player
      */
     public List<Piece> getWhPieces() {
-        return whPieces;
+        return this.getPieces(Color.WHITE);
     }
 
     /**
-     * Returns pieces of the black player
+     * Returns pieces of the black player, grouped by their type. The List is created
+     * from the bitboards on every call, so it isn't changed by later Moves. The Pieces
+     * are shared, their squares are kept by the bitboards (see getBitboard).
      *
      * @return List<Pieces> containing pieces of the black player
      */
     public List<Piece> getBlPieces() {
-        return blPieces;
+        return this.getPieces(Color.BLACK);
+    }
+
+    /* Collects the Pieces of the given color type by type from their bitboards */
+    private List<Piece> getPieces(Color color) {
+        List<Piece> pieces = new ArrayList<>(Long.bitCount(this.occupancy[color.ordinal()]));
+        for (long bitboard : this.pieceBitboards[color.ordinal()]) {
+            for (; bitboard != 0; bitboard &= bitboard - 1) {
+                pieces.add(this.currBoard[Long.numberOfTrailingZeros(bitboard)]);
+            }
+        }
+        return pieces;
+    }
+
+    /**
+     * Returns square of the King of the given color, which the Board keeps track of.
+     *
+     * @param color color of the King
+     * @return index of the King's square, -1 if the color has no King on the board
+     */
+    @Override
+    public int getKingSquare(Color color) {
+        return this.kingSquares[color.ordinal()];
+    }
+
+    /**
+     * Returns bitboard of the squares occupied by pieces of the given type and color.
+     *
+     * @param color color of the pieces
+     * @param type  type of the pieces
+     * @return bitboard of the pieces' squares
+     */
+    public long getBitboard(Color color, PieceType type) {
+        return this.pieceBitboards[color.ordinal()][type.ordinal()];
+    }
+
+    /**
+     * Returns bitboard of the squares occupied by pieces of the given color.
+     *
+     * @param color color of the pieces
+     * @return bitboard of the squares occupied by the given color
+     */
+    public long getOccupancy(Color color) {
+        return this.occupancy[color.ordinal()];
+    }
+
+    /**
+     * Returns bitboard of all occupied squares on the board.
+     *
+     * @return bitboard of the occupied squares
+     */
+    public long getOccupancy() {
+        return this.occupancy[0] | this.occupancy[1];
+    }
+
+    /**
+     * Checks if the given square is attacked by any piece of the given color. The lookup
+     * starts on the square and looks outwards along knight, pawn and king steps, then the
+     * sliding attacks of the square are looked up and compared with the enemy sliders.
+     *
+     * @param square   index of the square
+     * @param attacker color of the attacking pieces
+     * @return true if a piece of the attacking color attacks the square, else false
+     */
+    @Override
+    public boolean isSquareAttacked(int square, Color attacker) {
+        long[] bitboards = this.pieceBitboards[attacker.ordinal()];
+
+        //a pawn attacks the square from the squares a pawn of the other color would capture on
+        Color defender = attacker.opposite();
+        if ((Bitboards.pawnAttacks(defender, square) & bitboards[PieceType.PAWN.ordinal()]) != 0
+                || (Bitboards.knightAttacks(square) & bitboards[PieceType.KNIGHT.ordinal()]) != 0
+                || (Bitboards.kingAttacks(square) & bitboards[PieceType.KING.ordinal()]) != 0) {
+            return true;
+        }
+
+        long queens = bitboards[PieceType.QUEEN.ordinal()];
+        long occupied = this.getOccupancy();
+        return (Bitboards.rookAttacks(square, occupied) & (bitboards[PieceType.ROOK.ordinal()] | queens)) != 0
+                || (Bitboards.bishopAttacks(square, occupied) & (bitboards[PieceType.BISHOP.ordinal()] | queens)) != 0;
+    }
+
+    /**
+     * Writes all legal Moves of the player of the given color into the caller's MoveList.
+     * The Moves are generated anew on every call and the cache isn't used, so the caller
+     * owns the Moves and can reuse its MoveList without allocation.
+     *
+     * @param color color of the player
+     * @param moves MoveList the Moves are appended to
+     */
+    @Override
+    public void generateLegalMoves(Color color, MoveList moves) {
+        MoveGenerator.generateLegalMoves(this, color, moves);
+    }
+
+    /**
+     * Returns all legal Moves of the player of the given color in the current position.
+     * The Moves are generated once per position and color, and served from the cache
+     * until the position changes, so the GUI, the players and the end of game detection
+     * share a single generation. The returned MoveList belongs to the Board and mustn't
+     * be modified.
+     *
+     * @param color color of the player
+     * @return MoveList of the legal Moves
+     */
+    @Override
+    public synchronized MoveList getLegalMoves(Color color) {
+        int index = color.ordinal();
+        //the cache is valid as long as the position has the same key, which also survives make/unmake
+        if (this.legalMoves[index] == null || this.legalMovesKeys[index] != this.zobristKey) {
+            MoveList moves = new MoveList();
+            MoveGenerator.generateLegalMoves(this, color, moves);
+            this.legalMoves[index] = moves;
+            this.legalMovesKeys[index] = this.zobristKey;
+        }
+        return this.legalMoves[index];
+    }
+
+    /**
+     * Returns the Zobrist key of the current position, which covers the pieces, the side
+     * to move, the castling rights and the file of the en passant square. Equal positions
+     * have equal keys, so the key can be used by caches and repetition detection.
+     *
+     * @return 64 bit Zobrist key of the position
+     */
+    @Override
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+    /**
+     * Returns the number of Moves played since the last capture or Pawn move.
+     *
+     * @return the halfmove clock
+     */
+    @Override
+    public int getHalfmoveClock() {
+        return this.halfmoveClock;
+    }
+
+    /**
+     * Sets the number of Moves played since the last capture or Pawn move, used when
+     * the Board is set up from a position in the middle of a game.
+     *
+     * @param halfmoveClock the halfmove clock
+     */
+    @Override
+    public void setHalfmoveClock(int halfmoveClock) {
+        this.halfmoveClock = halfmoveClock;
+    }
+
+    /**
+     * Returns how many times the current position has occurred on this Board, including
+     * the current occurrence. Only positions since the last capture or Pawn move are
+     * compared, as no earlier position can repeat.
+     *
+     * @return number of occurrences of the current position
+     */
+    @Override
+    public int getRepetitionCount() {
+        int count = 1;
+        int oldest = Math.max(0, this.historyCount - this.halfmoveClock);
+        //positions with the same side to move are two plies apart
+        for (int i = this.historyCount - 2; i >= oldest; i -= 2) {
+            if (this.positionHistory[i] == this.zobristKey) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the material signature, which holds the number of pieces of every color
+     * and type in 4 bits each. Positions with the same pieces have equal signatures.
+     *
+     * @return the material signature
+     */
+    public long getMaterialKey() {
+        return this.materialKey;
+    }
+
+    /**
+     * Returns the number of pieces of the given color and type, read from the material
+     * signature.
+     *
+     * @param color color of the pieces
+     * @param type  type of the pieces
+     * @return number of the pieces
+     */
+    @Override
+    public int getPieceCount(Color color, PieceType type) {
+        return (int) (this.materialKey >>> materialShift(color.ordinal(), type.ordinal()) & 15);
+    }
+
+    /**
+     * Returns color of the player who plays the next Move on this Board.
+     *
+     * @return Color of the player to move
+     */
+    @Override
+    public Color getSideToMove() {
+        return this.sideToMove;
+    }
+
+    /**
+     * Sets color of the player who plays the next Move, used when the Board is set up
+     * from a saved game. The side to move switches with every Move played on the Board.
+     *
+     * @param sideToMove Color of the player to move
+     */
+    @Override
+    public void setSideToMove(Color sideToMove) {
+        this.updateState(this.castlingRights, this.enPassantSquare, sideToMove);
+    }
+
+    /**
+     * Returns castles which can still be played, as a bitmask of WHITE_KINGSIDE,
+     * WHITE_QUEENSIDE, BLACK_KINGSIDE and BLACK_QUEENSIDE.
+     *
+     * @return castling rights bitmask
+     */
+    @Override
+    public int getCastlingRights() {
+        return this.castlingRights;
+    }
+
+    /**
+     * Sets castles which can still be played, used when a position is set up.
+     *
+     * @param castlingRights castling rights bitmask, see getCastlingRights
+     */
+    @Override
+    public void setCastlingRights(int castlingRights) {
+        this.updateState(castlingRights, this.enPassantSquare, this.sideToMove);
+    }
+
+    /**
+     * Returns the square a Pawn can capture onto by en passant.
+     *
+     * @return index of the en passant square, -1 if there is none
+     */
+    @Override
+    public int getEnPassantSquare() {
+        return this.enPassantSquare;
     }
 
     /**
-     * Returns piece on the current board at given coordinates.
+     * Sets the square a Pawn can capture onto by en passant, used when a position is set up.
+     * The square is kept only if a Pawn of the opponent can capture onto it.
      *
-     * @param x x coordinate
-     * @param y y coordinate
-     * @return piece on given coordinates
+     * @param enPassantSquare index of the en passant square, -1 if there is none
      */
-    public Piece getPiece(int x, int y) {
-        return this.currBoard[x][y];
+    @Override
+    public void setEnPassantSquare(int enPassantSquare) {
+        this.updateState(this.castlingRights, capturableEnPassant(this, enPassantSquare), this.sideToMove);
     }
 
     /**
-     * Returns two dimensional array of Pieces which represents the current state
-     * of the game board
+     * Returns piece on the current board on the given square.
      *
-     * @return Piece[][] representing the current board
+     * @param square index of the square
+     * @return piece on the square, null if the square is empty
      */
-    public Piece[][] getCurrentBoard() {
-        return this.currBoard;
+    @Override
+    public Piece getPiece(int square) {
+        return this.currBoard[square];
     }
 
 }
@@ -0,0 +1,512 @@
+package chessclient.gamelogic;
+
+import chessclient.pieces.Color;
+import chessclient.pieces.Piece;
+import chessclient.pieces.PieceType;
+
+import java.util.Arrays;
+
+/**
+ * Board0x88 is a BoardRepresentation which keeps the Pieces in a 0x88 array only. The array
+ * has 16 columns per row, the 8 columns on the right lie off the board, so a square index s
+ * is on the board exactly when s &amp; 0x88 is 0, and stepping off the board in any direction
+ * is detected without bounds checks. The Moves are generated by walking the steps of the
+ * pieces from their squares, and each is tested for legality by playing it.
+ * <p>
+ * The squares seen from outside are the indices of Bitboards, as in every representation,
+ * only the array is indexed by the 0x88 squares.
+ */
+public class Board0x88 implements BoardRepresentation {
+
+    private static final int SIZE = 128;
+    private static final int OFF_BOARD = 0x88;
+    private static final int UP = -16;                 /* step towards row 0, forward for WHITE */
+
+    private static final int[] KNIGHT_STEPS = {-33, -31, -18, -14, 14, 18, 31, 33};
+    private static final int[] KING_STEPS = {-17, -16, -15, -1, 1, 15, 16, 17};
+    private static final int[] ROOK_STEPS = {-16, -1, 1, 16};
+    private static final int[] BISHOP_STEPS = {-17, -15, 15, 17};
+    private static final PieceType[] PROMOTIONS = {PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT};
+
+    private final Piece[] squares;               /* Pieces indexed by 0x88 square */
+    private final int[] kingSquares;             /* 0x88 square of the King of each Color, -1 if there is none */
+    private final int[][] pieceCounts;           /* Number of pieces, indexed by Color and PieceType ordinals */
+    private final MoveList pseudoLegalMoves;     /* Moves which are tested for legality by generateLegalMoves */
+    private final MoveList[] legalMoves;         /* Cached legal Moves of each Color, see getLegalMoves */
+    private final long[] legalMovesKeys;         /* Zobrist keys of the positions the cached Moves belong to */
+    private MoveUndo[] undoStack;
+    private int undoCount;
+    private Color sideToMove;
+    private int castlingRights;
+    private int enPassantSquare;                 /* index of Bitboards, -1 if there is none */
+    private int halfmoveClock;
+    private long zobristKey;
+    private long[] positionHistory;              /* Zobrist keys of the positions before each played Move */
+    private int historyCount;
+
+    /**
+     * Creates an empty board which can be filled with addPieceToBoard.
+     */
+    public Board0x88() {
+        this.squares = new Piece[SIZE];
+        this.kingSquares = new int[]{-1, -1};
+        this.pieceCounts = new int[Color.COUNT][PieceType.COUNT];
+        this.pseudoLegalMoves = new MoveList();
+        this.legalMoves = new MoveList[Color.COUNT];
+        this.legalMovesKeys = new long[Color.COUNT];
+        this.undoStack = new MoveUndo[0];
+        this.sideToMove = Color.WHITE;
+        this.enPassantSquare = -1;
+        this.positionHistory = new long[0];
+    }
+
+    /**
+     * Creates a board with the position of the given representation. The earlier positions
+     * used by the repetition rule are only copied from another Board0x88.
+     *
+     * @param original position which is copied
+     */
+    public Board0x88(BoardRepresentation original) {
+        this();
+        for (int square = 0; square < Board.BOARD_WIDTH * Board.BOARD_HEIGHT; square++) {
+            Piece p = original.getPiece(square);
+            if (p != null) {
+                this.placePiece(to0x88(square), p);
+            }
+        }
+        this.updateState(original.getCastlingRights(), original.getEnPassantSquare(), original.getSideToMove());
+        this.halfmoveClock = original.getHalfmoveClock();
+        if (original instanceof Board0x88) {
+            Board0x88 board = (Board0x88) original;
+            this.positionHistory = Arrays.copyOf(board.positionHistory, board.historyCount);
+            this.historyCount = board.historyCount;
+        }
+    }
+
+    /* Converts an index of Bitboards into the 0x88 square, row * 16 + column */
+    private static int to0x88(int square) {
+        return square + (square & ~7);
+    }
+
+    /* Converts a 0x88 square into the index of Bitboards, row * 8 + column */
+    private static int from0x88(int square) {
+        return (square + (square & 7)) >> 1;
+    }
+
+    @Override
+    public Piece getPiece(int square) {
+        return this.squares[to0x88(square)];
+    }
+
+    @Override
+    public void addPieceToBoard(int x, int y, Piece p) {
+        int square = to0x88(Bitboards.toSquare(x, y));
+        if (this.squares[square] != null) {
+            this.removePiece(square);
+        }
+        if (p != null) {
+            this.placePiece(square, p);
+        }
+        this.updateState(Board.computeCastlingRights(this), this.enPassantSquare, this.sideToMove);
+    }
+
+    @Override
+    public void makeMove(int move) {
+        int from = to0x88(PackedMove.getFrom(move));
+        int to = to0x88(PackedMove.getTo(move));
+        Piece movedPiece = this.squares[from];
+        Color color = movedPiece.getColor();
+        MoveUndo undo = this.pushUndo();
+
+        undo.move = move;
+        undo.movedPiece = movedPiece;
+        undo.capturedPiece = this.squares[to];
+        undo.capturedSquare = to;
+        undo.castledRook = null;
+        undo.sideToMove = this.sideToMove;
+        undo.castlingRights = this.castlingRights;
+        undo.enPassantSquare = this.enPassantSquare;
+        undo.zobristKey = this.zobristKey;
+        undo.halfmoveClock = this.halfmoveClock;
+        this.pushPositionHistory();
+
+        if (PackedMove.isEnPassant(move)) {
+            //the captured pawn stands in the row of the start, in the column of the end
+            undo.capturedSquare = (from & ~15) | (to & 15);
+            undo.capturedPiece = this.squares[undo.capturedSquare];
+        } else if (PackedMove.isCastle(move)) {
+            int rookFrom = to > from ? from + 3 : from - 4;
+            undo.castledRook = this.squares[rookFrom];
+            this.removePiece(rookFrom);
+            this.placePiece(to > from ? from + 1 : from - 1, undo.castledRook);
+        }
+
+        if (undo.capturedPiece != null) {
+            this.removePiece(undo.capturedSquare);
+        }
+        this.removePiece(from);
+        if (PackedMove.isPromotion(move)) {
+            movedPiece = Piece.of(PackedMove.getPromotion(move), color);
+        }
+        this.placePiece(to, movedPiece);
+
+        if (undo.capturedPiece != null || undo.movedPiece.getType() == PieceType.PAWN) {
+            this.halfmoveClock = 0;
+        } else {
+            this.halfmoveClock++;
+        }
+
+        int enPassant = -1;
+        if (movedPiece.getType() == PieceType.PAWN && Math.abs(to - from) == 2 * -UP) {
+            enPassant = Board.capturableEnPassant(this, from0x88((from + to) / 2));
+        }
+        int rights = this.castlingRights & Board.castlingRightsKept(PackedMove.getFrom(move))
+                & Board.castlingRightsKept(PackedMove.getTo(move));
+        this.updateState(rights, enPassant, color.opposite());
+    }
+
+    @Override
+    public void unmakeMove() {
+        MoveUndo undo = this.undoStack[--this.undoCount];
+        int from = to0x88(PackedMove.getFrom(undo.move));
+        int to = to0x88(PackedMove.getTo(undo.move));
+
+        this.removePiece(to);
+        this.placePiece(from, undo.movedPiece);
+        if (undo.castledRook != null) {
+            this.removePiece(to > from ? from + 1 : from - 1);
+            this.placePiece(to > from ? from + 3 : from - 4, undo.castledRook);
+        }
+        if (undo.capturedPiece != null) {
+            this.placePiece(undo.capturedSquare, undo.capturedPiece);
+        }
+
+        this.sideToMove = undo.sideToMove;
+        this.castlingRights = undo.castlingRights;
+        this.enPassantSquare = undo.enPassantSquare;
+        this.zobristKey = undo.zobristKey;
+        this.halfmoveClock = undo.halfmoveClock;
+        this.historyCount--;
+    }
+
+    @Override
+    public Board0x88 copy() {
+        return new Board0x88(this);
+    }
+
+    /* Puts the Piece onto the given empty 0x88 square */
+    private void placePiece(int square, Piece p) {
+        this.squares[square] = p;
+        this.pieceCounts[p.getColor().ordinal()][p.getType().ordinal()]++;
+        this.zobristKey ^= Zobrist.pieceKey(p.getColor(), p.getType(), from0x88(square));
+        if (p.getType() == PieceType.KING) {
+            this.kingSquares[p.getColor().ordinal()] = square;
+        }
+    }
+
+    /* Removes the Piece on the given 0x88 square */
+    private void removePiece(int square) {
+        Piece p = this.squares[square];
+        this.squares[square] = null;
+        this.pieceCounts[p.getColor().ordinal()][p.getType().ordinal()]--;
+        this.zobristKey ^= Zobrist.pieceKey(p.getColor(), p.getType(), from0x88(square));
+        if (p.getType() == PieceType.KING && this.kingSquares[p.getColor().ordinal()] == square) {
+            this.kingSquares[p.getColor().ordinal()] = -1;
+        }
+    }
+
+    /* Sets castling rights, en passant square and side to move, and updates their part of the Zobrist key */
+    private void updateState(int castlingRights, int enPassantSquare, Color sideToMove) {
+        this.zobristKey ^= Zobrist.castlingKey(this.castlingRights) ^ Zobrist.castlingKey(castlingRights);
+        this.zobristKey ^= Zobrist.enPassantKey(this.enPassantSquare) ^ Zobrist.enPassantKey(enPassantSquare);
+        this.zobristKey ^= Zobrist.sideKey(this.sideToMove) ^ Zobrist.sideKey(sideToMove);
+        this.castlingRights = castlingRights;
+        this.enPassantSquare = enPassantSquare;
+        this.sideToMove = sideToMove;
+    }
+
+    private void pushPositionHistory() {
+        if (this.historyCount == this.positionHistory.length) {
+            this.positionHistory = Arrays.copyOf(this.positionHistory, Math.max(16, this.historyCount * 2));
+        }
+        this.positionHistory[this.historyCount++] = this.zobristKey;
+    }
+
+    private MoveUndo pushUndo() {
+        if (this.undoCount == this.undoStack.length) {
+            this.undoStack = Arrays.copyOf(this.undoStack, Math.max(16, this.undoCount * 2));
+        }
+        if (this.undoStack[this.undoCount] == null) {
+            this.undoStack[this.undoCount] = new MoveUndo();
+        }
+        return this.undoStack[this.undoCount++];
+    }
+
+    @Override
+    public boolean isSquareAttacked(int square, Color attacker) {
+        return this.isAttacked(to0x88(square), attacker);
+    }
+
+    /* Walks the steps of every piece type outwards from the 0x88 square, and looks for an attacker
+     * of the given color which steps the other way */
+    private boolean isAttacked(int square, Color attacker) {
+        //an attacking pawn stands one row behind the square, seen from the attacker's side
+        int behind = attacker.equals(Color.WHITE) ? -UP : UP;
+        Piece pawn = Piece.of(PieceType.PAWN, attacker);
+        if (this.isPieceOn(square + behind - 1, pawn) || this.isPieceOn(square + behind + 1, pawn)) {
+            return true;
+        }
+        if (this.isStepAttacked(square, KNIGHT_STEPS, Piece.of(PieceType.KNIGHT, attacker))
+                || this.isStepAttacked(square, KING_STEPS, Piece.of(PieceType.KING, attacker))) {
+            return true;
+        }
+
+        Piece queen = Piece.of(PieceType.QUEEN, attacker);
+        return this.isSlideAttacked(square, ROOK_STEPS, Piece.of(PieceType.ROOK, attacker), queen)
+                || this.isSlideAttacked(square, BISHOP_STEPS, Piece.of(PieceType.BISHOP, attacker), queen);
+    }
+
+    private boolean isPieceOn(int square, Piece p) {
+        return (square & OFF_BOARD) == 0 && this.squares[square] == p;
+    }
+
+    private boolean isStepAttacked(int square, int[] steps, Piece attacker) {
+        for (int step : steps) {
+            if (this.isPieceOn(square + step, attacker)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isSlideAttacked(int square, int[] steps, Piece slider, Piece queen) {
+        for (int step : steps) {
+            int s = square + step;
+            while ((s & OFF_BOARD) == 0 && this.squares[s] == null) {
+                s += step;
+            }
+            if ((s & OFF_BOARD) == 0 && (this.squares[s] == slider || this.squares[s] == queen)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void generateLegalMoves(Color color, MoveList moves) {
+        MoveList candidates = this.pseudoLegalMoves;
+        candidates.clear();
+        this.generatePseudoLegalMoves(color, candidates);
+
+        Color enemy = color.opposite();
+        for (int i = 0; i < candidates.size(); i++) {
+            int move = candidates.get(i);
+            this.makeMove(move);
+            int king = this.kingSquares[color.ordinal()];
+            if (king < 0 || !this.isAttacked(king, enemy)) {
+                moves.add(move);
+            }
+            this.unmakeMove();
+        }
+    }
+
+    @Override
+    public synchronized MoveList getLegalMoves(Color color) {
+        int index = color.ordinal();
+        if (this.legalMoves[index] == null || this.legalMovesKeys[index] != this.zobristKey) {
+            MoveList moves = new MoveList();
+            this.generateLegalMoves(color, moves);
+            this.legalMoves[index] = moves;
+            this.legalMovesKeys[index] = this.zobristKey;
+        }
+        return this.legalMoves[index];
+    }
+
+    /* Writes Moves which respect the movement logic of the pieces, but may leave the King in check */
+    private void generatePseudoLegalMoves(Color color, MoveList moves) {
+        for (int row = 0; row < Board.BOARD_HEIGHT; row++) {
+            for (int from = row * 16; from < row * 16 + Board.BOARD_WIDTH; from++) {
+                Piece p = this.squares[from];
+                if (p == null || p.getColor() != color) {
+                    continue;
+                }
+                switch (p.getType()) {
+                    case PAWN:
+                        this.addPawnMoves(color, from, moves);
+                        break;
+                    case KNIGHT:
+                        this.addStepMoves(color, from, KNIGHT_STEPS, moves);
+                        break;
+                    case BISHOP:
+                        this.addSlideMoves(color, from, BISHOP_STEPS, moves);
+                        break;
+                    case ROOK:
+                        this.addSlideMoves(color, from, ROOK_STEPS, moves);
+                        break;
+                    case QUEEN:
+                        this.addSlideMoves(color, from, BISHOP_STEPS, moves);
+                        this.addSlideMoves(color, from, ROOK_STEPS, moves);
+                        break;
+                    default:
+                        this.addStepMoves(color, from, KING_STEPS, moves);
+                        this.addCastles(color, from, moves);
+                }
+            }
+        }
+    }
+
+    private void addStepMoves(Color color, int from, int[] steps, MoveList moves) {
+        for (int step : steps) {
+            int to = from + step;
+            if ((to & OFF_BOARD) == 0 && (this.squares[to] == null || this.squares[to].getColor() != color)) {
+                moves.add(PackedMove.create(from0x88(from), from0x88(to)));
+            }
+        }
+    }
+
+    private void addSlideMoves(Color color, int from, int[] steps, MoveList moves) {
+        for (int step : steps) {
+            for (int to = from + step; (to & OFF_BOARD) == 0; to += step) {
+                Piece target = this.squares[to];
+                if (target == null || target.getColor() != color) {
+                    moves.add(PackedMove.create(from0x88(from), from0x88(to)));
+                }
+                if (target != null) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private void addPawnMoves(Color color, int from, MoveList moves) {
+        boolean white = color.equals(Color.WHITE);
+        int forward = white ? UP : -UP;
+        int startRow = white ? Board.BOARD_HEIGHT - 2 : 1;
+
+        int to = from + forward;
+        if ((to & OFF_BOARD) == 0 && this.squares[to] == null) {
+            this.addPawnMove(from, to, moves);
+            if (from >> 4 == startRow && this.squares[to + forward] == null) {
+                moves.add(PackedMove.create(from0x88(from), from0x88(to + forward)));
+            }
+        }
+
+        for (int side = -1; side <= 1; side += 2) {
+            to = from + forward + side;
+            if ((to & OFF_BOARD) != 0) {
+                continue;
+            }
+            Piece target = this.squares[to];
+            if (target != null && target.getColor() != color) {
+                this.addPawnMove(from, to, moves);
+            } else if (target == null && from0x88(to) == this.enPassantSquare
+                    && this.squares[to - forward] == Piece.of(PieceType.PAWN, color.opposite())) {
+                moves.add(PackedMove.createEnPassant(from0x88(from), from0x88(to)));
+            }
+        }
+    }
+
+    /* Adds a Pawn Move, which is a promotion into any of the four pieces if it ends on the last row */
+    private void addPawnMove(int from, int to, MoveList moves) {
+        int row = to >> 4;
+        if (row == 0 || row == Board.BOARD_HEIGHT - 1) {
+            for (PieceType type : PROMOTIONS) {
+                moves.add(PackedMove.createPromotion(from0x88(from), from0x88(to), type));
+            }
+        } else {
+            moves.add(PackedMove.create(from0x88(from), from0x88(to)));
+        }
+    }
+
+    /* Adds the castles the King still has the rights for, if the squares between the King and the
+     * Rook are empty, and the King isn't in check and doesn't pass through an attacked square */
+    private void addCastles(Color color, int from, MoveList moves) {
+        boolean white = color.equals(Color.WHITE);
+        int home = white ? (Board.BOARD_HEIGHT - 1) * 16 + 4 : 4;
+        Color enemy = color.opposite();
+        if (from != home || this.isAttacked(from, enemy)) {
+            return;
+        }
+
+        Piece rook = Piece.of(PieceType.ROOK, color);
+        if ((this.castlingRights & (white ? Board.WHITE_KINGSIDE : Board.BLACK_KINGSIDE)) != 0
+                && this.squares[from + 3] == rook && this.squares[from + 1] == null && this.squares[from + 2] == null
+                && !this.isAttacked(from + 1, enemy) && !this.isAttacked(from + 2, enemy)) {
+            moves.add(PackedMove.createCastle(from0x88(from), from0x88(from + 2)));
+        }
+        if ((this.castlingRights & (white ? Board.WHITE_QUEENSIDE : Board.BLACK_QUEENSIDE)) != 0
+                && this.squares[from - 4] == rook && this.squares[from - 1] == null && this.squares[from - 2] == null
+                && this.squares[from - 3] == null && !this.isAttacked(from - 1, enemy)
+                && !this.isAttacked(from - 2, enemy)) {
+            moves.add(PackedMove.createCastle(from0x88(from), from0x88(from - 2)));
+        }
+    }
+
+    @Override
+    public int getKingSquare(Color color) {
+        int square = this.kingSquares[color.ordinal()];
+        return square < 0 ? -1 : from0x88(square);
+    }
+
+    @Override
+    public int getPieceCount(Color color, PieceType type) {
+        return this.pieceCounts[color.ordinal()][type.ordinal()];
+    }
+
+    @Override
+    public Color getSideToMove() {
+        return this.sideToMove;
+    }
+
+    @Override
+    public void setSideToMove(Color sideToMove) {
+        this.updateState(this.castlingRights, this.enPassantSquare, sideToMove);
+    }
+
+    @Override
+    public int getCastlingRights() {
+        return this.castlingRights;
+    }
+
+    @Override
+    public void setCastlingRights(int castlingRights) {
+        this.updateState(castlingRights, this.enPassantSquare, this.sideToMove);
+    }
+
+    @Override
+    public int getEnPassantSquare() {
+        return this.enPassantSquare;
+    }
+
+    @Override
+    public void setEnPassantSquare(int enPassantSquare) {
+        this.updateState(this.castlingRights, Board.capturableEnPassant(this, enPassantSquare), this.sideToMove);
+    }
+
+    @Override
+    public int getHalfmoveClock() {
+        return this.halfmoveClock;
+    }
+
+    @Override
+    public void setHalfmoveClock(int halfmoveClock) {
+        this.halfmoveClock = halfmoveClock;
+    }
+
+    @Override
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+    @Override
+    public int getRepetitionCount() {
+        int count = 1;
+        int oldest = Math.max(0, this.historyCount - this.halfmoveClock);
+        for (int i = this.historyCount - 2; i >= oldest; i -= 2) {
+            if (this.positionHistory[i] == this.zobristKey) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
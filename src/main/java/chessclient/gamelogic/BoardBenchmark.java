@@ -0,0 +1,197 @@
+package chessclient.gamelogic;
+
+import chessclient.pieces.Color;
+import chessclient.pieces.Piece;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * BoardBenchmark runs the same workloads against every BoardRepresentation, so that the
+ * representation can be chosen per workload:
+ * <ul>
+ * <li>search - perft of the sample positions, legal move generation and make/unmake</li>
+ * <li>GUI - a game played Move by Move, with the board, the Moves of every Piece and the
+ * game status read after each Move, as the GUI does</li>
+ * <li>analysis - copying positions of a game and computing their legal Moves of both
+ * players and their maps of attacked squares</li>
+ * </ul>
+ * Every workload returns a checksum, which has to be the same for all the representations.
+ * <p>
+ * Usage: {@code BoardBenchmark [rounds] [perft depth]}, 5 rounds of depth 3 by default. The
+ * average time of a round after a warm-up round is printed, and the exit status is 1 if the
+ * checksums differ.
+ */
+public final class BoardBenchmark {
+
+    private static final int DEFAULT_ROUNDS = 5;
+    private static final int DEFAULT_DEPTH = 3;
+    private static final int GAME_LENGTH = 200;     /* plies of the played sample games */
+    private static final int GAMES = 20;
+    private static final long SEED = 42;
+
+    private static final String[] POSITIONS = {
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+            "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+    };
+
+    private BoardBenchmark() {
+
+    }
+
+    /**
+     * Runs the benchmark from the command line, see the class description.
+     *
+     * @param args {@code [rounds] [perft depth]}
+     */
+    public static void main(String[] args) {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ROUNDS;
+        int depth = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_DEPTH;
+
+        Map<String, Function<Board, BoardRepresentation>> representations = new LinkedHashMap<>();
+        representations.put("Board", board -> board);
+        representations.put("Board0x88", Board0x88::new);
+
+        Map<String, ToLongFunction<BoardRepresentation[]>> workloads = new LinkedHashMap<>();
+        workloads.put("search", boards -> search(boards, depth));
+        workloads.put("GUI", BoardBenchmark::playGames);
+        workloads.put("analysis", BoardBenchmark::analyse);
+
+        boolean consistent = true;
+        System.out.printf("%-10s", "");
+        for (String name : representations.keySet()) {
+            System.out.printf("%14s", name);
+        }
+        System.out.println();
+        for (Map.Entry<String, ToLongFunction<BoardRepresentation[]>> workload : workloads.entrySet()) {
+            System.out.printf("%-10s", workload.getKey());
+            Long checksum = null;
+            for (Function<Board, BoardRepresentation> representation : representations.values()) {
+                long result = 0;
+                long time = 0;
+                for (int round = 0; round <= rounds; round++) {
+                    BoardRepresentation[] boards = createBoards(representation);
+                    long start = System.nanoTime();
+                    result = workload.getValue().applyAsLong(boards);
+                    //the first round only warms up
+                    if (round > 0) {
+                        time += System.nanoTime() - start;
+                    }
+                }
+                consistent &= checksum == null || checksum == result;
+                checksum = result;
+                System.out.printf("%11d ms", time / rounds / 1_000_000);
+            }
+            System.out.println();
+        }
+        if (!consistent) {
+            System.out.println("The representations returned different results");
+            System.exit(1);
+        }
+    }
+
+    private static BoardRepresentation[] createBoards(Function<Board, BoardRepresentation> representation) {
+        BoardRepresentation[] boards = new BoardRepresentation[POSITIONS.length];
+        for (int i = 0; i < POSITIONS.length; i++) {
+            boards[i] = representation.apply(new BoardInitializer().initializeFromFen(POSITIONS[i]));
+        }
+        return boards;
+    }
+
+    /* Counts the perft nodes of all the positions */
+    private static long search(BoardRepresentation[] boards, int depth) {
+        long nodes = 0;
+        for (BoardRepresentation board : boards) {
+            nodes += new Perft(board, depth).perft(depth);
+        }
+        return nodes;
+    }
+
+    /* Plays random games from the starting position, and reads the board like the GUI after every Move */
+    private static long playGames(BoardRepresentation[] boards) {
+        Random random = new Random(SEED);
+        long checksum = 0;
+        for (int game = 0; game < GAMES; game++) {
+            BoardRepresentation board = boards[0].copy();
+            for (int ply = 0; ply < GAME_LENGTH; ply++) {
+                Color color = board.getSideToMove();
+                if (Ruleset.getGameStatus(color, board) != GameStatus.ONGOING) {
+                    break;
+                }
+                Piece[][] pieces = board.getCurrentBoard();
+                List<Move> moves = new ArrayList<>();
+                for (int square = 0; square < Board.BOARD_WIDTH * Board.BOARD_HEIGHT; square++) {
+                    if (pieces[Bitboards.row(square)][Bitboards.column(square)] != null) {
+                        moves.addAll(board.getLegalMoves(square));
+                    }
+                }
+                checksum += moves.size();
+                int salt = random.nextInt();
+                Move move = moves.get(0);
+                for (Move m : moves) {
+                    if (pick(PackedMove.fromMove(m), PackedMove.fromMove(move), salt)) {
+                        move = m;
+                    }
+                }
+                board.makeMove(move);
+            }
+            checksum += board.getZobristKey();
+        }
+        return checksum;
+    }
+
+    /* Copies the positions of a played game, and computes their legal Moves and attacked squares */
+    private static long analyse(BoardRepresentation[] boards) {
+        Random random = new Random(SEED);
+        BoardRepresentation board = boards[1].copy();
+        List<BoardRepresentation> positions = new ArrayList<>();
+        MoveList moves = new MoveList();
+        for (int ply = 0; ply < GAME_LENGTH; ply++) {
+            moves.clear();
+            board.generateLegalMoves(board.getSideToMove(), moves);
+            if (moves.isEmpty()) {
+                break;
+            }
+            int salt = random.nextInt();
+            int move = moves.get(0);
+            for (int i = 1; i < moves.size(); i++) {
+                if (pick(moves.get(i), move, salt)) {
+                    move = moves.get(i);
+                }
+            }
+            board.makeMove(move);
+            positions.add(board.copy());
+        }
+
+        long checksum = 0;
+        for (BoardRepresentation position : positions) {
+            for (int c = 0; c < Color.COUNT; c++) {
+                Color color = Color.of(c);
+                moves.clear();
+                position.generateLegalMoves(color, moves);
+                checksum += moves.size();
+                for (int square = 0; square < Board.BOARD_WIDTH * Board.BOARD_HEIGHT; square++) {
+                    if (position.isSquareAttacked(square, color)) {
+                        checksum += square;
+                    }
+                }
+            }
+        }
+        return checksum;
+    }
+
+    /*
+     * Chooses between two Moves pseudo-randomly, but regardless of the order in which the
+     * representation generated them, so that all the representations play the same games
+     */
+    private static boolean pick(int move, int chosen, int salt) {
+        return (move * 0x9E3779B9 ^ salt) < (chosen * 0x9E3779B9 ^ salt);
+    }
+}
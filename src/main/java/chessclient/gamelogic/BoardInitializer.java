@@ -20,10 +20,10 @@ public class BoardInitializer {
      */
     public Board initializeStandard() {
         for (int i = 0; i < Board.BOARD_WIDTH; i++) {
-            Pawn blPawn = new Pawn(new int[]{1, i}, Color.BLACK);
+            Piece blPawn = Piece.of(PieceType.PAWN, Color.BLACK);
             board.addPieceToBoard(1, i, blPawn);
 
-            Pawn whPawn = new Pawn(new int[]{6, i}, Color.WHITE);
+            Piece whPawn = Piece.of(PieceType.PAWN, Color.WHITE);
             board.addPieceToBoard(6, i, whPawn);
         }
 
@@ -31,9 +31,9 @@ public class BoardInitializer {
         int tempX = 0;
         //Place rooks on the board
         for (int i = 0; i < 2; i++) {
-            Rook leftRook = new Rook(new int[]{tempX, 0}, tempColor);
+            Piece leftRook = Piece.of(PieceType.ROOK, tempColor);
             board.addPieceToBoard(tempX, 0, leftRook);
-            Rook righRook = new Rook(new int[]{tempX, 7}, tempColor);
+            Piece righRook = Piece.of(PieceType.ROOK, tempColor);
             board.addPieceToBoard(tempX, 7, righRook);
             tempX = 7;
             tempColor = Color.WHITE;
@@ -41,9 +41,9 @@ public class BoardInitializer {
 
         //Place knights on the board
         for (int i = 0; i < 2; i++) {
-            Knight leftKnight = new Knight(new int[]{tempX, 1}, tempColor);
+            Piece leftKnight = Piece.of(PieceType.KNIGHT, tempColor);
             board.addPieceToBoard(tempX, 1, leftKnight);
-            Knight rightKnight = new Knight(new int[]{tempX, 6}, tempColor);
+            Piece rightKnight = Piece.of(PieceType.KNIGHT, tempColor);
             board.addPieceToBoard(tempX, 6, rightKnight);
             tempX = 0;
             tempColor = Color.BLACK;
@@ -51,28 +51,28 @@ public class BoardInitializer {
 
         //Place bishops on the board
         for (int i = 0; i < 2; i++) {
-            Bishop leftBishop = new Bishop(new int[]{tempX, 2}, tempColor);
+            Piece leftBishop = Piece.of(PieceType.BISHOP, tempColor);
             board.addPieceToBoard(tempX, 2, leftBishop);
-            Bishop rightBishop = new Bishop(new int[]{tempX, 5}, tempColor);
+            Piece rightBishop = Piece.of(PieceType.BISHOP, tempColor);
             board.addPieceToBoard(tempX, 5, rightBishop);
             tempX = 7;
             tempColor = Color.WHITE;
         }
 
         //Place queens on the board
-        Queen whQueen = new Queen(new int[]{tempX, 3}, tempColor);
+        Piece whQueen = Piece.of(PieceType.QUEEN, tempColor);
         board.addPieceToBoard(tempX, 3, whQueen);
         tempX = 0;
         tempColor = Color.BLACK;
-        Queen blQueen = new Queen(new int[]{tempX, 3}, tempColor);
+        Piece blQueen = Piece.of(PieceType.QUEEN, tempColor);
         board.addPieceToBoard(tempX, 3, blQueen);
 
         //Place kings on the board
-        King blKing = new King(new int[]{tempX, 4}, tempColor);
+        Piece blKing = Piece.of(PieceType.KING, tempColor);
         board.addPieceToBoard(tempX, 4, blKing);
         tempX = 7;
         tempColor = Color.WHITE;
-        King whKing = new King(new int[]{tempX, 4}, tempColor);
+        Piece whKing = Piece.of(PieceType.KING, tempColor);
         board.addPieceToBoard(tempX, 4, whKing);
 
         for (int i = 2; i < Board.BOARD_WIDTH - 2; i++) {
@@ -84,6 +84,124 @@ public class BoardInitializer {
         return board;
     }
 
+    /**
+     * Initializing board from a position in Forsyth-Edwards Notation. The fullmove number
+     * at the end of the notation is ignored.
+     *
+     * @param fen position in Forsyth-Edwards Notation
+     * @return board with the position
+     * @throws IllegalArgumentException if the notation isn't a valid position
+     */
+    public Board initializeFromFen(String fen) {
+        String[] fields = fen.trim().split("\\s+");
+        String[] rows = fields[0].split("/");
+        if (fields.length < 4 || rows.length != Board.BOARD_HEIGHT) {
+            throw new IllegalArgumentException("Invalid FEN: " + fen);
+        }
+        String castling = fields[2];
+        int enPassant = fields[3].equals("-") ? -1 : this.parseSquare(fields[3], fen);
+
+        for (int i = 0; i < Board.BOARD_HEIGHT; i++) {
+            int j = 0;
+            for (char c : rows[i].toCharArray()) {
+                if (Character.isDigit(c)) {
+                    for (int empty = c - '0'; empty > 0 && j < Board.BOARD_WIDTH; empty--) {
+                        board.addPieceToBoard(i, j++, null);
+                    }
+                } else if (j < Board.BOARD_WIDTH) {
+                    board.addPieceToBoard(i, j, this.parsePiece(c, fen));
+                    j++;
+                } else {
+                    throw new IllegalArgumentException("Invalid FEN: " + fen);
+                }
+            }
+            if (j != Board.BOARD_WIDTH) {
+                throw new IllegalArgumentException("Invalid FEN: " + fen);
+            }
+        }
+
+        switch (fields[1]) {
+            case "w":
+                board.setSideToMove(Color.WHITE);
+                break;
+            case "b":
+                board.setSideToMove(Color.BLACK);
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid FEN: " + fen);
+        }
+        board.setCastlingRights(this.parseCastlingRights(castling, fen));
+        board.setEnPassantSquare(enPassant);
+        if (fields.length > 4) {
+            try {
+                board.setHalfmoveClock(Integer.parseInt(fields[4]));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid FEN: " + fen, e);
+            }
+        }
+        return board;
+    }
+
+    /* Returns the Piece denoted by the FEN character */
+    private Piece parsePiece(char c, String fen) {
+        Color color = Character.isUpperCase(c) ? Color.WHITE : Color.BLACK;
+        switch (Character.toLowerCase(c)) {
+            case 'p':
+                return Piece.of(PieceType.PAWN, color);
+            case 'n':
+                return Piece.of(PieceType.KNIGHT, color);
+            case 'b':
+                return Piece.of(PieceType.BISHOP, color);
+            case 'r':
+                return Piece.of(PieceType.ROOK, color);
+            case 'q':
+                return Piece.of(PieceType.QUEEN, color);
+            case 'k':
+                return Piece.of(PieceType.KING, color);
+            default:
+                throw new IllegalArgumentException("Invalid FEN: " + fen);
+        }
+    }
+
+    /* Converts the castling field e.g. KQkq into the castling rights bitmask */
+    private int parseCastlingRights(String castling, String fen) {
+        int rights = 0;
+        for (char c : castling.toCharArray()) {
+            switch (c) {
+                case 'K':
+                    rights |= Board.WHITE_KINGSIDE;
+                    break;
+                case 'Q':
+                    rights |= Board.WHITE_QUEENSIDE;
+                    break;
+                case 'k':
+                    rights |= Board.BLACK_KINGSIDE;
+                    break;
+                case 'q':
+                    rights |= Board.BLACK_QUEENSIDE;
+                    break;
+                case '-':
+                    break;
+                default:
+                    throw new IllegalArgumentException("Invalid FEN: " + fen);
+            }
+        }
+        return rights;
+    }
+
+    /* Converts a square in algebraic notation e.g. e3 into its index */
+    private int parseSquare(String square, String fen) {
+        if (square.length() != 2) {
+            throw new IllegalArgumentException("Invalid FEN: " + fen);
+        }
+        int x = Board.BOARD_HEIGHT - (square.charAt(1) - '0');
+        int y = square.charAt(0) - 'a';
+        if (!Board.isValidSquare(x, y)) {
+            throw new IllegalArgumentException("Invalid FEN: " + fen);
+        }
+        return Bitboards.toSquare(x, y);
+    }
+
     /**
      * Initializing board without pieces
      *
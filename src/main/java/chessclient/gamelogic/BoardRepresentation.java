@@ -0,0 +1,280 @@
+package chessclient.gamelogic;
+
+import chessclient.pieces.Color;
+import chessclient.pieces.Piece;
+import chessclient.pieces.PieceType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BoardRepresentation is the state of a chess game as the rules, the GUI and the players
+ * see it - the Pieces on the squares, the side to move, the castling rights, the en passant
+ * square and the counters of the draw rules - regardless of how the state is stored. Squares
+ * are the indices of Bitboards and Moves are packed (see PackedMove) in every representation.
+ * <p>
+ * Board keeps the Pieces in an array indexed by square and in bitboards, which the move
+ * generation of MoveGenerator and the search rely on. Board0x88 keeps them in a 0x88 array
+ * only. BoardBenchmark runs the same workloads against both: perft search, a game read Move
+ * by Move as the GUI does, and analysis of copied positions. Board is faster in all of them,
+ * so it's the representation of the game, and Board0x88 serves as a cross-check.
+ */
+public interface BoardRepresentation {
+
+    /**
+     * Returns piece on the given square.
+     *
+     * @param square index of the square
+     * @return piece on the square, null if the square is empty
+     */
+    Piece getPiece(int square);
+
+    /**
+     * Returns piece at the given coordinates.
+     *
+     * @param x row index
+     * @param y column index
+     * @return piece on the given coordinates, null if the square is empty
+     */
+    default Piece getPiece(int x, int y) {
+        return this.getPiece(Bitboards.toSquare(x, y));
+    }
+
+    /**
+     * Returns two dimensional array of Pieces which represents the current state
+     * of the game board. The array is created by every call, changing it doesn't
+     * change the board.
+     *
+     * @return Piece[][] representing the current board
+     */
+    default Piece[][] getCurrentBoard() {
+        Piece[][] board = new Piece[Board.BOARD_HEIGHT][Board.BOARD_WIDTH];
+        for (int i = 0; i < Board.BOARD_HEIGHT; i++) {
+            for (int j = 0; j < Board.BOARD_WIDTH; j++) {
+                board[i][j] = this.getPiece(i, j);
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Places the given Piece onto the given square, replacing the Piece standing there.
+     * The castling rights are set up again from the Kings and Rooks which stand on their
+     * initial squares.
+     *
+     * @param x index of the row of the placed Piece
+     * @param y index of the column of the placed Piece
+     * @param p Piece added onto the board, null to empty the square
+     */
+    void addPieceToBoard(int x, int y, Piece p);
+
+    /**
+     * Returns color of the player who plays the next Move.
+     *
+     * @return Color of the player to move
+     */
+    Color getSideToMove();
+
+    /**
+     * Sets color of the player who plays the next Move, used when a position is set up.
+     *
+     * @param sideToMove Color of the player to move
+     */
+    void setSideToMove(Color sideToMove);
+
+    /**
+     * Returns castles which can still be played, as a bitmask of Board.WHITE_KINGSIDE,
+     * Board.WHITE_QUEENSIDE, Board.BLACK_KINGSIDE and Board.BLACK_QUEENSIDE.
+     *
+     * @return castling rights bitmask
+     */
+    int getCastlingRights();
+
+    /**
+     * Sets castles which can still be played, used when a position is set up.
+     *
+     * @param castlingRights castling rights bitmask, see getCastlingRights
+     */
+    void setCastlingRights(int castlingRights);
+
+    /**
+     * Returns the square a Pawn can capture onto by en passant. A Pawn which has moved two
+     * squares leaves the square only if a Pawn of the opponent stands next to it, so equal
+     * positions have equal Zobrist keys.
+     *
+     * @return index of the en passant square, -1 if there is none
+     */
+    int getEnPassantSquare();
+
+    /**
+     * Sets the square a Pawn can capture onto by en passant, used when a position is set up.
+     * The square is kept only if a Pawn of the opponent can capture onto it.
+     *
+     * @param enPassantSquare index of the en passant square, -1 if there is none
+     */
+    void setEnPassantSquare(int enPassantSquare);
+
+    /**
+     * Returns the number of Moves played since the last capture or Pawn move.
+     *
+     * @return the halfmove clock
+     */
+    int getHalfmoveClock();
+
+    /**
+     * Sets the number of Moves played since the last capture or Pawn move, used when
+     * a position is set up.
+     *
+     * @param halfmoveClock the halfmove clock
+     */
+    void setHalfmoveClock(int halfmoveClock);
+
+    /**
+     * Returns the Zobrist key of the current position (see Zobrist). Equal positions have
+     * equal keys in every representation.
+     *
+     * @return 64 bit Zobrist key of the position
+     */
+    long getZobristKey();
+
+    /**
+     * Returns how many times the current position has occurred, including the current
+     * occurrence.
+     *
+     * @return number of occurrences of the current position
+     */
+    int getRepetitionCount();
+
+    /**
+     * Returns the number of pieces of the given color and type.
+     *
+     * @param color color of the pieces
+     * @param type  type of the pieces
+     * @return number of the pieces
+     */
+    int getPieceCount(Color color, PieceType type);
+
+    /**
+     * Checks if neither player has enough pieces left to checkmate. That is the case when
+     * only the Kings are left with at most one knight or bishop, or with bishops which all
+     * stand on squares of the same color.
+     *
+     * @return true if no checkmate is possible, else false
+     */
+    default boolean hasInsufficientMaterial() {
+        if (this.hasPawnsOrMajorPieces(Color.WHITE) || this.hasPawnsOrMajorPieces(Color.BLACK)) {
+            return false;
+        }
+        int knights = this.getPieceCount(Color.WHITE, PieceType.KNIGHT) + this.getPieceCount(Color.BLACK, PieceType.KNIGHT);
+        int bishops = this.getPieceCount(Color.WHITE, PieceType.BISHOP) + this.getPieceCount(Color.BLACK, PieceType.BISHOP);
+        if (knights + bishops <= 1) {
+            return true;
+        }
+        if (knights > 0) {
+            return false;
+        }
+
+        long bishopSquares = 0L;
+        for (int square = 0; square < Board.BOARD_WIDTH * Board.BOARD_HEIGHT; square++) {
+            Piece p = this.getPiece(square);
+            if (p != null && p.getType() == PieceType.BISHOP) {
+                bishopSquares |= Bitboards.squareMask(square);
+            }
+        }
+        return (bishopSquares & Bitboards.LIGHT_SQUARES) == 0 || (bishopSquares & ~Bitboards.LIGHT_SQUARES) == 0;
+    }
+
+    /* Checks if the player has a pawn, rook or queen, any of which can still mate */
+    private boolean hasPawnsOrMajorPieces(Color color) {
+        return this.getPieceCount(color, PieceType.PAWN) != 0 || this.getPieceCount(color, PieceType.ROOK) != 0
+                || this.getPieceCount(color, PieceType.QUEEN) != 0;
+    }
+
+    /**
+     * Returns square of the King of the given color.
+     *
+     * @param color color of the King
+     * @return index of the King's square, -1 if the color has no King on the board
+     */
+    int getKingSquare(Color color);
+
+    /**
+     * Checks if the given square is attacked by any piece of the given color.
+     *
+     * @param square   index of the square
+     * @param attacker color of the attacking pieces
+     * @return true if a piece of the attacking color attacks the square, else false
+     */
+    boolean isSquareAttacked(int square, Color attacker);
+
+    /**
+     * Writes all legal Moves of the player of the given color into the MoveList.
+     *
+     * @param color color of the player
+     * @param moves MoveList the Moves are appended to
+     */
+    void generateLegalMoves(Color color, MoveList moves);
+
+    /**
+     * Returns all legal Moves of the player of the given color in the current position.
+     * The returned MoveList may be cached by the representation and mustn't be modified.
+     *
+     * @param color color of the player
+     * @return MoveList of the legal Moves
+     */
+    MoveList getLegalMoves(Color color);
+
+    /**
+     * Returns legal Moves of the Piece on the given square. Promotions are returned without
+     * a promotion identifier.
+     *
+     * @param square index of the Piece's square
+     * @return List of the Piece's legal Moves, empty if the square is empty
+     */
+    default List<Move> getLegalMoves(int square) {
+        Piece p = this.getPiece(square);
+        if (p == null) {
+            return new ArrayList<>();
+        }
+        return this.getLegalMoves(p.getColor()).toMoves(Bitboards.squareMask(square));
+    }
+
+    /**
+     * Plays the given packed Move, and remembers everything needed to take the Move back
+     * by unmakeMove.
+     *
+     * @param move packed Move to be played
+     */
+    void makeMove(int move);
+
+    /**
+     * Plays the given Move, and remembers everything needed to take the Move back by
+     * unmakeMove. Promotions without a promotion identifier promote into a queen.
+     *
+     * @param move Move to be played
+     */
+    default void makeMove(Move move) {
+        this.makeMove(PackedMove.fromMove(move));
+    }
+
+    /**
+     * Updates the board according to the move played by one of the players.
+     *
+     * @param move Move played by the player
+     */
+    default void playMove(Move move) {
+        this.makeMove(move);
+    }
+
+    /**
+     * Takes back the last Move played by makeMove.
+     */
+    void unmakeMove();
+
+    /**
+     * Creates an independent copy of the position in the same representation.
+     *
+     * @return copy of the position
+     */
+    BoardRepresentation copy();
+}
@@ -0,0 +1,153 @@
+package chessclient.gamelogic;
+
+import chessclient.pieces.Color;
+import chessclient.pieces.PieceType;
+
+/**
+ * Evaluation scores a position for the search by the material of both players (see
+ * PieceType.getValue) and by the squares their pieces stand on. Every piece type has a table
+ * of bonuses per square, written from white's point of view with a8 first, the way squares
+ * are indexed by Bitboards, and mirrored vertically for black. The King has separate tables
+ * for the middlegame and the endgame, which are blended by the material left on the board.
+ */
+public final class Evaluation {
+
+    private static final int[][] SQUARE_BONUSES = {
+            //PAWN
+            {0, 0, 0, 0, 0, 0, 0, 0,
+                    50, 50, 50, 50, 50, 50, 50, 50,
+                    10, 10, 20, 30, 30, 20, 10, 10,
+                    5, 5, 10, 25, 25, 10, 5, 5,
+                    0, 0, 0, 20, 20, 0, 0, 0,
+                    5, -5, -10, 0, 0, -10, -5, 5,
+                    5, 10, 10, -20, -20, 10, 10, 5,
+                    0, 0, 0, 0, 0, 0, 0, 0},
+            //KNIGHT
+            {-50, -40, -30, -30, -30, -30, -40, -50,
+                    -40, -20, 0, 0, 0, 0, -20, -40,
+                    -30, 0, 10, 15, 15, 10, 0, -30,
+                    -30, 5, 15, 20, 20, 15, 5, -30,
+                    -30, 0, 15, 20, 20, 15, 0, -30,
+                    -30, 5, 10, 15, 15, 10, 5, -30,
+                    -40, -20, 0, 5, 5, 0, -20, -40,
+                    -50, -40, -30, -30, -30, -30, -40, -50},
+            //BISHOP
+            {-20, -10, -10, -10, -10, -10, -10, -20,
+                    -10, 0, 0, 0, 0, 0, 0, -10,
+                    -10, 0, 5, 10, 10, 5, 0, -10,
+                    -10, 5, 5, 10, 10, 5, 5, -10,
+                    -10, 0, 10, 10, 10, 10, 0, -10,
+                    -10, 10, 10, 10, 10, 10, 10, -10,
+                    -10, 5, 0, 0, 0, 0, 5, -10,
+                    -20, -10, -10, -10, -10, -10, -10, -20},
+            //ROOK
+            {0, 0, 0, 0, 0, 0, 0, 0,
+                    5, 10, 10, 10, 10, 10, 10, 5,
+                    -5, 0, 0, 0, 0, 0, 0, -5,
+                    -5, 0, 0, 0, 0, 0, 0, -5,
+                    -5, 0, 0, 0, 0, 0, 0, -5,
+                    -5, 0, 0, 0, 0, 0, 0, -5,
+                    -5, 0, 0, 0, 0, 0, 0, -5,
+                    0, 0, 0, 5, 5, 0, 0, 0},
+            //QUEEN
+            {-20, -10, -10, -5, -5, -10, -10, -20,
+                    -10, 0, 0, 0, 0, 0, 0, -10,
+                    -10, 0, 5, 5, 5, 5, 0, -10,
+                    -5, 0, 5, 5, 5, 5, 0, -5,
+                    0, 0, 5, 5, 5, 5, 0, -5,
+                    -10, 5, 5, 5, 5, 5, 0, -10,
+                    -10, 0, 5, 0, 0, 0, 0, -10,
+                    -20, -10, -10, -5, -5, -10, -10, -20},
+            //KING in the middlegame, sheltered behind its pawns
+            {-30, -40, -40, -50, -50, -40, -40, -30,
+                    -30, -40, -40, -50, -50, -40, -40, -30,
+                    -30, -40, -40, -50, -50, -40, -40, -30,
+                    -30, -40, -40, -50, -50, -40, -40, -30,
+                    -20, -30, -30, -40, -40, -30, -30, -20,
+                    -10, -20, -20, -20, -20, -20, -20, -10,
+                    20, 20, 0, 0, 0, 0, 20, 20,
+                    20, 30, 10, 0, 0, 10, 30, 20},
+    };
+
+    /* Bonuses of the King in the endgame, when it joins the play in the centre */
+    private static final int[] KING_ENDGAME_BONUSES = {
+            -50, -40, -30, -20, -20, -30, -40, -50,
+            -30, -20, -10, 0, 0, -10, -20, -30,
+            -30, -10, 20, 30, 30, 20, -10, -30,
+            -30, -10, 30, 40, 40, 30, -10, -30,
+            -30, -10, 30, 40, 40, 30, -10, -30,
+            -30, -10, 20, 30, 30, 20, -10, -30,
+            -30, -30, 0, 0, 0, 0, -30, -30,
+            -50, -30, -30, -30, -30, -30, -30, -50};
+
+    /* Weight of the pieces of each type in the game phase, all the pieces of the starting position weigh 24 */
+    private static final int[] PHASE_WEIGHTS = {0, 1, 1, 2, 4, 0};
+    private static final int MAX_PHASE = 24;
+
+    private Evaluation() {
+
+    }
+
+    /**
+     * Scores the position from the point of view of the side to move.
+     *
+     * @param b the current game board
+     * @return score of the position in centipawns, positive if the side to move is better
+     */
+    public static int evaluate(Board b) {
+        int material = 0;
+        int kingMiddlegame = 0;
+        int kingEndgame = 0;
+        for (int c = 0; c < Color.COUNT; c++) {
+            Color color = Color.of(c);
+            int sign = color.equals(Color.WHITE) ? 1 : -1;
+            //black's squares are mirrored onto white's tables by flipping the row
+            int mirror = color.equals(Color.WHITE) ? 0 : 56;
+            for (int t = 0; t < PieceType.COUNT; t++) {
+                PieceType type = PieceType.of(t);
+                for (long pieces = b.getBitboard(color, type); pieces != 0; pieces &= pieces - 1) {
+                    int square = Long.numberOfTrailingZeros(pieces) ^ mirror;
+                    if (type == PieceType.KING) {
+                        kingMiddlegame += sign * SQUARE_BONUSES[type.ordinal()][square];
+                        kingEndgame += sign * KING_ENDGAME_BONUSES[square];
+                    } else {
+                        material += sign * (type.getValue() + SQUARE_BONUSES[type.ordinal()][square]);
+                    }
+                }
+            }
+        }
+        int phase = getPhase(b);
+        int score = material + (kingMiddlegame * phase + kingEndgame * (MAX_PHASE - phase)) / MAX_PHASE;
+        return b.getSideToMove().equals(Color.WHITE) ? score : -score;
+    }
+
+    /**
+     * Returns the game phase from the pieces left on the board, 24 with all the pieces of
+     * the starting position and 0 when only Kings and pawns are left.
+     *
+     * @param b the current game board
+     * @return game phase between 0 and 24
+     */
+    public static int getPhase(Board b) {
+        int phase = 0;
+        for (int c = 0; c < Color.COUNT; c++) {
+            for (int t = 0; t < PieceType.COUNT; t++) {
+                phase += PHASE_WEIGHTS[t] * b.getPieceCount(Color.of(c), PieceType.of(t));
+            }
+        }
+        return Math.min(phase, MAX_PHASE);
+    }
+
+    /**
+     * Checks if the player of the given color has any piece left besides the King and
+     * the pawns. Without such pieces zugzwang is common, so passing the turn isn't a safe
+     * estimate of the position.
+     *
+     * @param b     the current game board
+     * @param color color of the player
+     * @return true if the player has a knight, bishop, rook or queen, else false
+     */
+    public static boolean hasPieces(Board b, Color color) {
+        return (b.getOccupancy(color) & ~b.getBitboard(color, PieceType.PAWN) & ~b.getBitboard(color, PieceType.KING)) != 0;
+    }
+}
@@ -0,0 +1,338 @@
+package chessclient.gamelogic;
+
+import chessclient.pieces.Color;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * ForkJoinSearch splits the alpha-beta search of a position between the threads of
+ * a ForkJoinPool by the Young Brothers Wait Concept. The root and the other nodes of the
+ * principal variation which are deep enough are split points: their first Move is searched
+ * first, as it's the most likely to be the best one and it sets the window of the others,
+ * and then the rest of the Moves (the young brothers) are searched by parallel tasks, each
+ * on its own copy of the Board. Every task searches its Move with a null window of the best
+ * score so far, and again with the full window only if the Move is better. A Move which
+ * cuts off cancels its siblings, the tasks which haven't started don't search at all and
+ * the running ones stop within a few hundred nodes.
+ * <p>
+ * Below the split points each thread searches on its own with a Search, which it reuses for
+ * all its tasks. All the threads share a transposition table. The iterative deepening is the
+ * same as Search's, and an iteration which is stopped is thrown away.
+ */
+public class ForkJoinSearch {
+
+    private static final int INFINITY = Search.MATE + 1;
+    private static final int SPLIT_MIN_DEPTH = 4;       /* shallower nodes aren't worth the tasks */
+    private static final int[] NO_KILLERS = new int[0];
+
+    private final Board board;
+    private final TranspositionTable table;
+    private final ForkJoinPool pool;
+    private final Map<Thread, Search> searches;     /* Search of every thread of the current search */
+    private volatile boolean stopped;
+    private long deadline;                  /* System.nanoTime after which the search stops */
+    private long nodes;
+    private int bestMove;
+    private int bestScore;
+    private int completedDepth;
+    private int iterationBestMove;          /* best Move of the root in the current iteration */
+
+    /**
+     * Creates a ForkJoinSearch of the position on the given Board. The Board is changed
+     * during the search and restored when the search ends, so it should be a copy of
+     * the game board.
+     *
+     * @param board Board with the searched position
+     * @param table transposition table shared by all the threads
+     * @param pool  ForkJoinPool whose threads search the position
+     */
+    public ForkJoinSearch(Board board, TranspositionTable table, ForkJoinPool pool) {
+        this.board = board;
+        this.table = table;
+        this.pool = pool;
+        this.searches = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Searches the position with increasing depth until the given depth is completed, the
+     * deadline passes or the search is stopped.
+     *
+     * @param maxDepth the deepest iteration, at least 1
+     * @param deadline value of System.nanoTime at which the search stops
+     * @return the best packed Move found, PackedMove.NONE if the side to move has no legal Move
+     */
+    public int search(int maxDepth, long deadline) {
+        return this.search(maxDepth, deadline, null);
+    }
+
+    /**
+     * Searches the position with increasing depth until the given depth is completed, the
+     * TimeManager stops the iterations or its hard deadline passes, or the search is stopped.
+     *
+     * @param maxDepth    the deepest iteration, at least 1
+     * @param timeManager budget of the searched Move
+     * @return the best packed Move found, PackedMove.NONE if the side to move has no legal Move
+     */
+    public int search(int maxDepth, TimeManager timeManager) {
+        return this.search(maxDepth, timeManager.getHardDeadline(), timeManager);
+    }
+
+    private int search(int maxDepth, long deadline, TimeManager timeManager) {
+        this.stopped = false;
+        this.deadline = deadline;
+        this.nodes = 0;
+        this.completedDepth = 0;
+        this.bestScore = 0;
+        this.searches.clear();
+        this.table.newSearch();
+
+        MoveList rootMoves = new MoveList();
+        MovePicker picker = new MovePicker();
+        picker.init(this.board, NO_KILLERS);
+        for (int move = picker.next(); move != PackedMove.NONE; move = picker.next()) {
+            rootMoves.add(move);
+        }
+        this.bestMove = rootMoves.isEmpty() ? PackedMove.NONE : rootMoves.get(0);
+        if (rootMoves.size() <= 1 || System.nanoTime() - deadline >= 0) {
+            //the first ordered Move is played at once when there's no time left for the search
+            return this.bestMove;
+        }
+
+        for (int depth = 1; depth <= Math.min(maxDepth, Search.MAX_PLY - 1); depth++) {
+            int previousBest = this.bestMove;
+            int searchedDepth = depth;
+            this.iterationBestMove = PackedMove.NONE;
+            int score = this.pool.invoke(new RecursiveTask<Integer>() {
+                @Override
+                protected Integer compute() {
+                    return ForkJoinSearch.this.searchSplitPoint(ForkJoinSearch.this.board, searchedDepth, 0,
+                            -INFINITY, INFINITY, null);
+                }
+            });
+            if (this.isAborted(null) || this.iterationBestMove == PackedMove.NONE) {
+                break;
+            }
+            this.bestMove = this.iterationBestMove;
+            this.bestScore = score;
+            this.completedDepth = depth;
+            if (Math.abs(score) >= Search.MATE - depth) {
+                //a mate within the depth can't be improved by searching deeper
+                break;
+            }
+            if (timeManager != null && timeManager.isSoftLimitReached(this.bestMove != previousBest)) {
+                break;
+            }
+        }
+
+        for (Search search : this.searches.values()) {
+            this.nodes += search.getNodes();
+        }
+        return this.bestMove;
+    }
+
+    /**
+     * Stops the search as soon as possible, the search returns the best Move of the last
+     * completed iteration.
+     */
+    public void stop() {
+        this.stopped = true;
+    }
+
+    /* Searches a node of the principal variation, it's split between the threads if it's deep enough.
+     * The Moves are played on the given Board, which is restored before returning */
+    private int searchSplitPoint(Board b, int depth, int ply, int alpha, int beta, SplitPoint parent) {
+        //the root is always a split point, so that its best Move is known
+        if (ply > 0 && (depth < SPLIT_MIN_DEPTH || ply >= Search.MAX_PLY - 1)) {
+            return this.getSearch().searchPosition(b, depth, ply, alpha, beta, this.deadline,
+                    () -> this.isAborted(parent));
+        }
+        MovePicker picker = new MovePicker();
+        if (ply > 0 && Search.isDraw(b, picker)) {
+            return 0;
+        }
+        Color color = b.getSideToMove();
+        boolean inCheck = Ruleset.isKingChecked(color, b);
+        if (inCheck) {
+            depth++;
+        }
+
+        long key = b.getZobristKey();
+        long entry = this.table.probe(key);
+        MoveList moves = new MoveList();
+        picker.init(b, entry == TranspositionTable.MISS ? PackedMove.NONE : TranspositionTable.getMove(entry),
+                NO_KILLERS);
+        for (int move = picker.next(); move != PackedMove.NONE; move = picker.next()) {
+            moves.add(move);
+        }
+        if (moves.isEmpty()) {
+            return inCheck ? -Search.MATE + ply : 0;
+        }
+
+        //the eldest brother is searched before the others start
+        int first = moves.get(0);
+        b.makeMove(first);
+        int score = -this.searchSplitPoint(b, depth - 1, ply + 1, -beta, -alpha, parent);
+        b.unmakeMove();
+        if (this.isAborted(parent)) {
+            return 0;
+        }
+
+        SplitPoint split = new SplitPoint(parent, b, depth, ply, alpha, beta);
+        split.update(score, first);
+        if (!split.isCutoff()) {
+            MoveTask[] tasks = new MoveTask[moves.size() - 1];
+            for (int i = 0; i < tasks.length; i++) {
+                tasks[i] = new MoveTask(split, moves.get(i + 1));
+                tasks[i].fork();
+            }
+            //every task is joined, as the running ones read the Board which is changed after returning
+            for (MoveTask task : tasks) {
+                task.join();
+            }
+        }
+        if (this.isAborted(parent)) {
+            return 0;
+        }
+
+        int bound = split.best >= beta ? TranspositionTable.LOWER_BOUND
+                : split.best > alpha ? TranspositionTable.EXACT : TranspositionTable.UPPER_BOUND;
+        int best = bound == TranspositionTable.UPPER_BOUND ? PackedMove.NONE : split.bestMove;
+        this.table.store(key, best, split.best, depth, bound, ply);
+        if (ply == 0) {
+            this.iterationBestMove = split.bestMove;
+        }
+        return split.best;
+    }
+
+    /* Returns the Search of the current thread, which searches below the split points */
+    private Search getSearch() {
+        return this.searches.computeIfAbsent(Thread.currentThread(), thread -> new Search(this.board, this.table));
+    }
+
+    /* Checks if the search has been stopped, or if any split point above the given one has cut off */
+    private boolean isAborted(SplitPoint split) {
+        if (this.stopped || System.nanoTime() - this.deadline >= 0) {
+            return true;
+        }
+        for (SplitPoint s = split; s != null; s = s.parent) {
+            if (s.isCutoff()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the best Move of the last completed iteration.
+     *
+     * @return packed Move, PackedMove.NONE if there is no legal Move
+     */
+    public int getBestMove() {
+        return this.bestMove;
+    }
+
+    /**
+     * Returns score of the best Move of the last completed iteration, from the point of
+     * view of the side to move.
+     *
+     * @return score in centipawns
+     */
+    public int getBestScore() {
+        return this.bestScore;
+    }
+
+    /**
+     * Returns the depth of the last completed iteration.
+     *
+     * @return completed depth in plies, 0 if no iteration has been completed
+     */
+    public int getCompletedDepth() {
+        return this.completedDepth;
+    }
+
+    /**
+     * Returns the number of positions visited below the split points by the last search.
+     *
+     * @return number of nodes
+     */
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    /* A node whose young brothers are searched in parallel, the tasks share its window and its best Move */
+    private static final class SplitPoint {
+
+        private final SplitPoint parent;
+        private final Board board;
+        private final int depth;
+        private final int ply;
+        private final int beta;
+        private volatile int alpha;
+        private volatile int best;
+        private volatile int bestMove;
+
+        private SplitPoint(SplitPoint parent, Board board, int depth, int ply, int alpha, int beta) {
+            this.parent = parent;
+            this.board = board;
+            this.depth = depth;
+            this.ply = ply;
+            this.alpha = alpha;
+            this.beta = beta;
+            this.best = -INFINITY;
+            this.bestMove = PackedMove.NONE;
+        }
+
+        /* Records the score of a searched Move, raising alpha if it's the best so far */
+        private synchronized void update(int score, int move) {
+            if (score > this.best) {
+                this.best = score;
+                this.bestMove = move;
+                if (score > this.alpha) {
+                    this.alpha = score;
+                }
+            }
+        }
+
+        private boolean isCutoff() {
+            return this.alpha >= this.beta;
+        }
+    }
+
+    /* Searches one of the young brothers of a split point on a copy of its Board */
+    private final class MoveTask extends RecursiveTask<Integer> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final SplitPoint split;
+        private final int move;
+
+        private MoveTask(SplitPoint split, int move) {
+            this.split = split;
+            this.move = move;
+        }
+
+        @Override
+        protected Integer compute() {
+            SplitPoint s = this.split;
+            if (ForkJoinSearch.this.isAborted(s)) {
+                return 0;
+            }
+            Board b = new Board(s.board);
+            b.makeMove(this.move);
+            int alpha = s.alpha;
+            int score = -ForkJoinSearch.this.getSearch().searchPosition(b, s.depth - 1, s.ply + 1, -alpha - 1, -alpha,
+                    ForkJoinSearch.this.deadline, () -> ForkJoinSearch.this.isAborted(s));
+            if (score > alpha && score < s.beta && !ForkJoinSearch.this.isAborted(s)) {
+                //the Move is better than the best one so far, its subtree is a new principal variation
+                score = -ForkJoinSearch.this.searchSplitPoint(b, s.depth - 1, s.ply + 1, -s.beta, -alpha, s);
+            }
+            if (!ForkJoinSearch.this.isAborted(s)) {
+                s.update(score, this.move);
+            }
+            return score;
+        }
+    }
+}
@@ -25,7 +25,7 @@ public class Game extends Thread {
 
     private final Player blackPlayer;
     private final Player whitePlayer;
-    private final Board board;
+    private final BoardRepresentation board;
     private final ChessSceneGenerator sceneGenerator;
     private boolean stop;
     private boolean whiteTurn;
@@ -39,7 +39,7 @@ public class Game extends Thread {
      * @param b              Board, initial state of the chess board
      * @param whiteStarts    boolean which determines which player starts the game
      */
-    public Game(Player whitePlayer, Player blackPlayer, ChessSceneGenerator sceneGenerator, Board b, boolean whiteStarts) {
+    public Game(Player whitePlayer, Player blackPlayer, ChessSceneGenerator sceneGenerator, BoardRepresentation b, boolean whiteStarts) {
         this.board = b;
         this.whitePlayer = whitePlayer;
         this.blackPlayer = blackPlayer;
@@ -121,13 +121,14 @@ public class Game extends Thread {
         //redraw changes in GUI
         sceneGenerator.redrawBoard(t.getMove());
         //detect end of game
-        if (Ruleset.detectCheckMate(enemy.getColor(), board)) {
+        GameStatus status = Ruleset.getGameStatus(enemy.getColor(), board);
+        if (status == GameStatus.CHECKMATE) {
             if (player instanceof NetworkPlayer) {
                 ((NetworkPlayer) player).endGameOnServer("lose");
             }
             sceneGenerator.endGame(player);
             this.stop = true;
-        } else if (Ruleset.detectDraw(enemy.getColor(), board)) {
+        } else if (status.isDraw()) {
             if (player instanceof NetworkPlayer) {
                 ((NetworkPlayer) player).endGameOnServer("draw");
             }
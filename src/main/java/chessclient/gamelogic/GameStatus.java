@@ -0,0 +1,23 @@
+package chessclient.gamelogic;
+
+/**
+ * Enum GameStatus defines the states of the game after a Move, see Ruleset.getGameStatus.
+ * The game goes on, or it has ended by a checkmate or by one of the draws.
+ */
+public enum GameStatus {
+    ONGOING,
+    CHECKMATE,
+    STALEMATE,
+    FIFTY_MOVE_RULE,
+    THREEFOLD_REPETITION,
+    INSUFFICIENT_MATERIAL;
+
+    /**
+     * Checks if the game has ended in a draw.
+     *
+     * @return true if the status is one of the draws, else false
+     */
+    public boolean isDraw() {
+        return this != ONGOING && this != CHECKMATE;
+    }
+}
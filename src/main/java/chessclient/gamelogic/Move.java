@@ -1,5 +1,7 @@
 package chessclient.gamelogic;
 
+import java.util.Arrays;
+import java.util.Objects;
 
 /**
  * Move stores information about the starting and terminal position of
@@ -56,17 +58,7 @@ public class Move {
      */
     @Override
     public int hashCode() {
-        int smFactor;
-        if (specialMove == null) {
-            smFactor = 41;
-        } else if (specialMove.equals(SpecialMove.CASTLE)) {
-            smFactor = 43;
-        } else if (specialMove.equals(SpecialMove.EN_PASSANT)) {
-            smFactor = 47;
-        } else {
-            smFactor = 53;
-        }
-        return (2 ^ from[0] * 3 ^ from[1] * 5 ^ to[0] * 7 ^ to[1] * smFactor) % Integer.MAX_VALUE;
+        return Objects.hash(Arrays.hashCode(from), Arrays.hashCode(to), specialMove);
     }
 
     /**
@@ -82,7 +74,7 @@ public class Move {
             return false;
         } else {
             Move m = (Move) o;
-            return this.hashCode() == m.hashCode();
+            return Arrays.equals(this.from, m.from) && Arrays.equals(this.to, m.to) && this.specialMove == m.specialMove;
         }
     }
 
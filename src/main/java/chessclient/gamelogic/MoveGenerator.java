@@ -0,0 +1,484 @@
+package chessclient.gamelogic;
+
+import chessclient.pieces.Color;
+import chessclient.pieces.Piece;
+import chessclient.pieces.PieceType;
+
+/**
+ * MoveGenerator generates fully legal Moves straight from the Board's bitboards. Pieces
+ * giving check and pieces absolutely pinned to their King are computed once per position,
+ * so no Move has to be played on the Board to find out whether it exposes the King.
+ * The Moves are written as packed ints (see PackedMove) into a MoveList.
+ * <p>
+ * For searches, which often need only the first few Moves of a position, the generator
+ * can also write pseudo-legal captures and quiet Moves separately. Those Moves may leave
+ * the King in check, and each is tested by isLegal once it's about to be played, see
+ * MovePicker.
+ * <p>
+ * The generator holds the movement logic of all the pieces. Every piece type is handled by
+ * the same loop, which switches on the PieceType and looks the attacks up in the tables of
+ * Bitboards.
+ */
+public final class MoveGenerator {
+
+    private static final long ALL_SQUARES = -1L;
+
+    private MoveGenerator() {
+
+    }
+
+    /**
+     * Writes all legal Moves of the player of the given color into the MoveList.
+     *
+     * @param b     the current game board
+     * @param color color of the player
+     * @param moves MoveList the Moves are appended to
+     */
+    public static void generateLegalMoves(Board b, Color color, MoveList moves) {
+        generateLegalMoves(b, color, ALL_SQUARES, moves);
+    }
+
+    /**
+     * Writes legal Moves of the player of the given color, which start on one of the given
+     * squares, into the MoveList. Every promotion is written four times, once for each
+     * piece the Pawn can promote into.
+     *
+     * @param b           the current game board
+     * @param color       color of the player
+     * @param fromSquares bitboard of the squares of the Pieces whose Moves are wanted
+     * @param moves       MoveList the Moves are appended to
+     */
+    public static void generateLegalMoves(Board b, Color color, long fromSquares, MoveList moves) {
+        Color enemy = color.opposite();
+        long own = b.getOccupancy(color);
+        long occupied = b.getOccupancy();
+        int kingSquare = b.getKingSquare(color);
+
+        if (kingSquare < 0) {
+            //positions set up by hand don't need to contain a king, nothing can be pinned then
+            addPieceMoves(b, color, own & fromSquares, ALL_SQUARES, 0L, -1, moves);
+            return;
+        }
+
+        long king = Bitboards.squareMask(kingSquare);
+        long checkers = attackersTo(b, kingSquare, enemy, occupied);
+
+        if ((king & fromSquares) != 0) {
+            addKingMoves(b, color, enemy, kingSquare, checkers, moves);
+        }
+        if (Long.bitCount(checkers) > 1) {
+            //only the king can move out of a double check
+            return;
+        }
+
+        long checkMask = ALL_SQUARES;
+        if (checkers != 0) {
+            //the checking piece has to be captured, or the check blocked
+            checkMask = checkers | Bitboards.between(kingSquare, Long.numberOfTrailingZeros(checkers));
+        }
+        long pinned = getPinnedPieces(b, color, enemy, kingSquare);
+
+        addPieceMoves(b, color, own & ~king & fromSquares, checkMask, pinned, kingSquare, moves);
+        addEnPassant(b, color, enemy, kingSquare, fromSquares, moves);
+    }
+
+    /**
+     * Writes pseudo-legal Moves of the player of the given color, which start on one of the
+     * given squares, into the MoveList. Castles are written only if the King isn't in check
+     * and doesn't pass through an attacked square.
+     *
+     * @param b           the current game board
+     * @param color       color of the player
+     * @param fromSquares bitboard of the squares of the Pieces whose Moves are wanted
+     * @param castles     whether castles of the King are written
+     * @param moves       MoveList the Moves are appended to
+     */
+    public static void generatePseudoLegalMoves(Board b, Color color, long fromSquares, boolean castles,
+                                                MoveList moves) {
+        Color enemy = color.opposite();
+        long pawns = b.getBitboard(color, PieceType.PAWN) & fromSquares;
+
+        addPieceMoves(b, color, b.getOccupancy(color) & fromSquares, ALL_SQUARES, 0L, -1, moves);
+        addPseudoLegalEnPassant(b, color, enemy, pawns, moves);
+
+        int kingSquare = b.getKingSquare(color);
+        if (castles && kingSquare >= 0 && (fromSquares & Bitboards.squareMask(kingSquare)) != 0
+                && !b.isSquareAttacked(kingSquare, enemy)) {
+            addCastles(b, color, enemy, kingSquare, moves);
+        }
+    }
+
+    /**
+     * Writes pseudo-legal captures, en passant captures and promotions of the player of the
+     * given color into the MoveList. Every promotion is written four times, once for each
+     * piece the Pawn can promote into.
+     *
+     * @param b     the current game board
+     * @param color color of the player
+     * @param moves MoveList the Moves are appended to
+     */
+    public static void generateCaptures(Board b, Color color, MoveList moves) {
+        Color enemyColor = color.opposite();
+        long enemy = b.getOccupancy(enemyColor);
+        long pawns = b.getBitboard(color, PieceType.PAWN);
+
+        addPieceMoves(b, color, b.getOccupancy(color) & ~pawns, enemy, 0L, -1, moves);
+        for (long p = pawns; p != 0; p &= p - 1) {
+            int from = Long.numberOfTrailingZeros(p);
+            for (long targets = Bitboards.pawnAttacks(color, from) & enemy; targets != 0; targets &= targets - 1) {
+                addPawnMove(from, Long.numberOfTrailingZeros(targets), moves);
+            }
+        }
+        addPawnPushes(color, pawns, ~b.getOccupancy(), true, moves);
+        addPseudoLegalEnPassant(b, color, enemyColor, pawns, moves);
+    }
+
+    /**
+     * Writes pseudo-legal quiet Moves of the player of the given color into the MoveList,
+     * these are the Moves onto empty squares which aren't promotions, and castles.
+     *
+     * @param b     the current game board
+     * @param color color of the player
+     * @param moves MoveList the Moves are appended to
+     */
+    public static void generateQuiets(Board b, Color color, MoveList moves) {
+        Color enemy = color.opposite();
+        long empty = ~b.getOccupancy();
+        long pawns = b.getBitboard(color, PieceType.PAWN);
+
+        addPieceMoves(b, color, b.getOccupancy(color) & ~pawns, empty, 0L, -1, moves);
+        addPawnPushes(color, pawns, empty, false, moves);
+
+        int kingSquare = b.getKingSquare(color);
+        if (kingSquare >= 0 && !b.isSquareAttacked(kingSquare, enemy)) {
+            addCastles(b, color, enemy, kingSquare, moves);
+        }
+    }
+
+    /**
+     * Checks if the pseudo-legal Move of the side whose Piece stands on the Move's starting
+     * square doesn't leave its King in check. Castles are generated only if the King doesn't
+     * pass through an attacked square, so they're always legal.
+     *
+     * @param b    the current game board
+     * @param move pseudo-legal packed Move
+     * @return true if the Move is legal, else false
+     */
+    public static boolean isLegal(Board b, int move) {
+        int from = PackedMove.getFrom(move);
+        int to = PackedMove.getTo(move);
+        Color color = b.getPiece(from).getColor();
+        Color enemy = color.opposite();
+        int kingSquare = b.getKingSquare(color);
+        if (kingSquare < 0) {
+            return true;
+        }
+
+        //the captured piece doesn't attack anymore, and the squares it and the moved piece leave are empty
+        long captured = Bitboards.squareMask(to);
+        long occupied = (b.getOccupancy() ^ Bitboards.squareMask(from)) | captured;
+        if (PackedMove.isEnPassant(move)) {
+            captured = Bitboards.squareMask(to + (color.equals(Color.WHITE) ? Board.BOARD_WIDTH : -Board.BOARD_WIDTH));
+            occupied ^= captured;
+        }
+
+        if (from == kingSquare) {
+            return PackedMove.isCastle(move) || (attackersTo(b, to, enemy, occupied) & ~captured) == 0;
+        }
+        return (attackersTo(b, kingSquare, enemy, occupied) & ~captured) == 0;
+    }
+
+    /**
+     * Checks if the packed Move is a quiet Move - not a capture, a promotion, an en passant
+     * or a castle - which the player of the given color can play in the current position,
+     * if his King is left aside. Used for Moves remembered from other positions, e.g. killer
+     * Moves of a search.
+     *
+     * @param b     the current game board
+     * @param color color of the player
+     * @param move  packed Move
+     * @return true if the Move is a pseudo-legal quiet Move, else false
+     */
+    public static boolean isPseudoLegalQuiet(Board b, Color color, int move) {
+        if (move == PackedMove.NONE || PackedMove.isEnPassant(move) || PackedMove.isCastle(move)
+                || PackedMove.isPromotion(move)) {
+            return false;
+        }
+
+        int from = PackedMove.getFrom(move);
+        int to = PackedMove.getTo(move);
+        long occupied = b.getOccupancy();
+        if ((b.getOccupancy(color) & Bitboards.squareMask(from)) == 0 || (occupied & Bitboards.squareMask(to)) != 0) {
+            return false;
+        }
+
+        PieceType type = b.getPiece(from).getType();
+        if (type != PieceType.PAWN) {
+            return (pieceAttacks(type, from, occupied) & Bitboards.squareMask(to)) != 0;
+        }
+        boolean white = color.equals(Color.WHITE);
+        int step = white ? -Board.BOARD_WIDTH : Board.BOARD_WIDTH;
+        int startRow = white ? Board.BOARD_HEIGHT - 2 : 1;
+        int lastRow = white ? 0 : Board.BOARD_HEIGHT - 1;
+        if (Bitboards.row(to) == lastRow) {
+            return false;
+        }
+        return to == from + step || (to == from + 2 * step && Bitboards.row(from) == startRow
+                && (occupied & Bitboards.squareMask(from + step)) == 0);
+    }
+
+    /**
+     * Returns bitboard of the pieces of the given color which attack the given square,
+     * given the occupancy of the board.
+     *
+     * @param b        the current game board
+     * @param square   index of the attacked square
+     * @param attacker color of the attacking pieces
+     * @param occupied bitboard of the occupied squares which block sliding pieces
+     * @return bitboard of the attacking pieces
+     */
+    public static long attackersTo(Board b, int square, Color attacker, long occupied) {
+        Color defender = attacker.opposite();
+        long queens = b.getBitboard(attacker, PieceType.QUEEN);
+
+        return (Bitboards.pawnAttacks(defender, square) & b.getBitboard(attacker, PieceType.PAWN))
+                | (Bitboards.knightAttacks(square) & b.getBitboard(attacker, PieceType.KNIGHT))
+                | (Bitboards.kingAttacks(square) & b.getBitboard(attacker, PieceType.KING))
+                | (Bitboards.rookAttacks(square, occupied)
+                & (b.getBitboard(attacker, PieceType.ROOK) | queens))
+                | (Bitboards.bishopAttacks(square, occupied)
+                & (b.getBitboard(attacker, PieceType.BISHOP) | queens));
+    }
+
+    /* Returns own pieces which are the only piece between the King and an enemy slider */
+    private static long getPinnedPieces(Board b, Color color, Color enemy, int kingSquare) {
+        long occupied = b.getOccupancy();
+        long enemyOccupancy = b.getOccupancy(enemy);
+        long queens = b.getBitboard(enemy, PieceType.QUEEN);
+        long pinners = (Bitboards.rookAttacks(kingSquare, enemyOccupancy)
+                & (b.getBitboard(enemy, PieceType.ROOK) | queens))
+                | (Bitboards.bishopAttacks(kingSquare, enemyOccupancy)
+                & (b.getBitboard(enemy, PieceType.BISHOP) | queens));
+        long pinned = 0L;
+
+        for (; pinners != 0; pinners &= pinners - 1) {
+            long blockers = Bitboards.between(kingSquare, Long.numberOfTrailingZeros(pinners)) & occupied;
+            if (Long.bitCount(blockers) == 1) {
+                pinned |= blockers & b.getOccupancy(color);
+            }
+        }
+        return pinned;
+    }
+
+    /* Adds Moves of the King onto squares not attacked by the enemy, and castles */
+    private static void addKingMoves(Board b, Color color, Color enemy, int kingSquare, long checkers, MoveList moves) {
+        //the king doesn't block attacks along the ray it is escaping on
+        long occupied = b.getOccupancy() & ~Bitboards.squareMask(kingSquare);
+        long targets = Bitboards.kingAttacks(kingSquare) & ~b.getOccupancy(color);
+
+        for (; targets != 0; targets &= targets - 1) {
+            int to = Long.numberOfTrailingZeros(targets);
+            if (attackersTo(b, to, enemy, occupied) == 0) {
+                moves.add(PackedMove.create(kingSquare, to));
+            }
+        }
+
+        if (checkers == 0) {
+            addCastles(b, color, enemy, kingSquare, moves);
+        }
+    }
+
+    /* Adds both castles of the King, which mustn't be in check */
+    private static void addCastles(Board b, Color color, Color enemy, int kingSquare, MoveList moves) {
+        boolean white = color.equals(Color.WHITE);
+        addCastle(b, color, enemy, kingSquare, white ? Board.WHITE_QUEENSIDE : Board.BLACK_QUEENSIDE, 0, moves);
+        addCastle(b, color, enemy, kingSquare, white ? Board.WHITE_KINGSIDE : Board.BLACK_KINGSIDE,
+                Board.BOARD_WIDTH - 1, moves);
+    }
+
+    /* Adds the castle with the Rook in the given column, if the Board still has the castling right, the
+     * squares between the King and the Rook are empty, and the King doesn't pass through an attacked square */
+    private static void addCastle(Board b, Color color, Color enemy, int kingSquare, int right, int rookColumn,
+                                  MoveList moves) {
+        int homeRow = color.equals(Color.WHITE) ? Board.BOARD_HEIGHT - 1 : 0;
+        int rookSquare = Bitboards.toSquare(homeRow, rookColumn);
+        //the right is lost when the King or the Rook moves, the squares are checked for hand set up positions
+        if ((b.getCastlingRights() & right) == 0 || kingSquare != Bitboards.toSquare(homeRow, 4)
+                || (b.getBitboard(color, PieceType.ROOK) & Bitboards.squareMask(rookSquare)) == 0) {
+            return;
+        }
+
+        if ((Bitboards.between(kingSquare, rookSquare) & b.getOccupancy()) != 0) {
+            return;
+        }
+
+        int step = rookColumn > 4 ? 1 : -1;
+        for (int i = 1; i <= 2; i++) {
+            if (b.isSquareAttacked(kingSquare + i * step, enemy)) {
+                return;
+            }
+        }
+        moves.add(PackedMove.createCastle(kingSquare, kingSquare + 2 * step));
+    }
+
+    /* Adds Moves of the given Pieces which end on the check mask, pinned Pieces stay on their pin line. The
+     * King's Moves are added only by the pseudo-legal generators, which pass an empty pin mask */
+    private static void addPieceMoves(Board b, Color color, long pieces, long checkMask, long pinned, int kingSquare,
+                                      MoveList moves) {
+        long occupied = b.getOccupancy();
+        long own = b.getOccupancy(color);
+        long enemy = occupied & ~own;
+
+        for (; pieces != 0; pieces &= pieces - 1) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            Piece p = b.getPiece(from);
+            long allowed = checkMask;
+            if ((pinned & Bitboards.squareMask(from)) != 0) {
+                allowed &= Bitboards.line(kingSquare, from);
+            }
+
+            if (p.getType() == PieceType.PAWN) {
+                addPawnMoves(color, from, occupied, enemy, allowed, moves);
+                continue;
+            }
+
+            long targets = pieceAttacks(p.getType(), from, occupied) & ~own & allowed;
+            for (; targets != 0; targets &= targets - 1) {
+                moves.add(PackedMove.create(from, Long.numberOfTrailingZeros(targets)));
+            }
+        }
+    }
+
+    /* Returns squares attacked by a piece of the given type other than a Pawn from the given square, the
+     * switch is the only place where the movement of the piece types differs */
+    private static long pieceAttacks(PieceType type, int square, long occupied) {
+        switch (type) {
+            case KNIGHT:
+                return Bitboards.knightAttacks(square);
+            case BISHOP:
+                return Bitboards.bishopAttacks(square, occupied);
+            case ROOK:
+                return Bitboards.rookAttacks(square, occupied);
+            case QUEEN:
+                return Bitboards.queenAttacks(square, occupied);
+            default:
+                return Bitboards.kingAttacks(square);
+        }
+    }
+
+    /* Adds single and double pushes of the Pawns onto empty squares, either only the pushes onto the
+     * last row, which are promotions, or only the other pushes */
+    private static void addPawnPushes(Color color, long pawns, long empty, boolean promotions, MoveList moves) {
+        boolean white = color.equals(Color.WHITE);
+        int step = white ? -Board.BOARD_WIDTH : Board.BOARD_WIDTH;
+        long lastRow = Bitboards.rowMask(white ? 0 : Board.BOARD_HEIGHT - 1);
+        long pushes = (white ? pawns >>> Board.BOARD_WIDTH : pawns << Board.BOARD_WIDTH) & empty;
+
+        if (promotions) {
+            for (pushes &= lastRow; pushes != 0; pushes &= pushes - 1) {
+                int to = Long.numberOfTrailingZeros(pushes);
+                addPawnMove(to - step, to, moves);
+            }
+            return;
+        }
+
+        //a double push passes through the row in front of the starting row
+        long passed = pushes & Bitboards.rowMask(white ? Board.BOARD_HEIGHT - 3 : 2);
+        long doublePushes = (white ? passed >>> Board.BOARD_WIDTH : passed << Board.BOARD_WIDTH) & empty;
+        for (pushes &= ~lastRow; pushes != 0; pushes &= pushes - 1) {
+            int to = Long.numberOfTrailingZeros(pushes);
+            moves.add(PackedMove.create(to - step, to));
+        }
+        for (; doublePushes != 0; doublePushes &= doublePushes - 1) {
+            int to = Long.numberOfTrailingZeros(doublePushes);
+            moves.add(PackedMove.create(to - 2 * step, to));
+        }
+    }
+
+    /* Adds pushes and captures of the Pawn, double pushes are allowed from the Pawn's starting row */
+    private static void addPawnMoves(Color color, int from, long occupied, long enemy, long allowed, MoveList moves) {
+        boolean white = color.equals(Color.WHITE);
+        int step = white ? -Board.BOARD_WIDTH : Board.BOARD_WIDTH;
+        int startRow = white ? Board.BOARD_HEIGHT - 2 : 1;
+
+        int to = from + step;
+        if (to >= 0 && to < 64 && (occupied & Bitboards.squareMask(to)) == 0) {
+            if ((allowed & Bitboards.squareMask(to)) != 0) {
+                addPawnMove(from, to, moves);
+            }
+            int doubleTo = to + step;
+            if (Bitboards.row(from) == startRow && (occupied & Bitboards.squareMask(doubleTo)) == 0
+                    && (allowed & Bitboards.squareMask(doubleTo)) != 0) {
+                addPawnMove(from, doubleTo, moves);
+            }
+        }
+
+        long targets = Bitboards.pawnAttacks(color, from) & enemy & allowed;
+        for (; targets != 0; targets &= targets - 1) {
+            addPawnMove(from, Long.numberOfTrailingZeros(targets), moves);
+        }
+    }
+
+    /* Adds a Pawn Move, which is a promotion into any of the four pieces if it ends on the last row */
+    private static void addPawnMove(int from, int to, MoveList moves) {
+        int row = Bitboards.row(to);
+        if (row == 0 || row == Board.BOARD_HEIGHT - 1) {
+            moves.add(PackedMove.createPromotion(from, to, PieceType.QUEEN));
+            moves.add(PackedMove.createPromotion(from, to, PieceType.ROOK));
+            moves.add(PackedMove.createPromotion(from, to, PieceType.BISHOP));
+            moves.add(PackedMove.createPromotion(from, to, PieceType.KNIGHT));
+        } else {
+            moves.add(PackedMove.create(from, to));
+        }
+    }
+
+    /* Adds en passant captures, each is verified by removing both pawns from the board, which
+     * also covers the pawns being the only pieces between the King and an enemy rook */
+    private static void addEnPassant(Board b, Color color, Color enemy, int kingSquare, long fromSquares, MoveList moves) {
+        int target = getEnPassantTarget(b, color, enemy);
+        if (target < 0) {
+            return;
+        }
+
+        int victim = target + (color.equals(Color.WHITE) ? Board.BOARD_WIDTH : -Board.BOARD_WIDTH);
+
+        long capturers = Bitboards.pawnAttacks(enemy, target) & b.getBitboard(color, PieceType.PAWN) & fromSquares;
+        for (; capturers != 0; capturers &= capturers - 1) {
+            int from = Long.numberOfTrailingZeros(capturers);
+            long occupied = (b.getOccupancy() ^ Bitboards.squareMask(from) ^ Bitboards.squareMask(victim))
+                    | Bitboards.squareMask(target);
+            if ((attackersTo(b, kingSquare, enemy, occupied) & ~Bitboards.squareMask(victim)) == 0) {
+                moves.add(PackedMove.createEnPassant(from, target));
+            }
+        }
+    }
+
+    /* Adds en passant captures of the given Pawns without checking whether they expose the King */
+    private static void addPseudoLegalEnPassant(Board b, Color color, Color enemy, long pawns, MoveList moves) {
+        int target = getEnPassantTarget(b, color, enemy);
+        if (target < 0) {
+            return;
+        }
+
+        for (long capturers = Bitboards.pawnAttacks(enemy, target) & pawns; capturers != 0;
+             capturers &= capturers - 1) {
+            moves.add(PackedMove.createEnPassant(Long.numberOfTrailingZeros(capturers), target));
+        }
+    }
+
+    /* Returns the en passant square of the Board if the player can capture onto it, else -1 */
+    private static int getEnPassantTarget(Board b, Color color, Color enemy) {
+        int target = b.getEnPassantSquare();
+        if (target < 0) {
+            return -1;
+        }
+
+        //the en passant square is only the player's if the enemy Pawn stands in front of it
+        int victim = target + (color.equals(Color.WHITE) ? Board.BOARD_WIDTH : -Board.BOARD_WIDTH);
+        if ((b.getBitboard(enemy, PieceType.PAWN) & Bitboards.squareMask(victim)) == 0
+                || (b.getOccupancy() & Bitboards.squareMask(target)) != 0) {
+            return -1;
+        }
+        return target;
+    }
+}
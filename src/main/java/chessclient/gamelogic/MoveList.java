@@ -0,0 +1,136 @@
+package chessclient.gamelogic;
+
+import chessclient.pieces.PieceType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * MoveList is a reusable buffer of packed Moves (see PackedMove), which move generators
+ * write into. Clearing the list keeps its storage, so a MoveList kept by its owner costs
+ * no allocation once it has grown to the largest number of Moves seen.
+ */
+public class MoveList {
+
+    private static final int DEFAULT_CAPACITY = 256;   /* no chess position has more legal moves */
+
+    private int[] moves;
+    private int size;
+
+    /**
+     * Creates an empty MoveList.
+     */
+    public MoveList() {
+        this.moves = new int[DEFAULT_CAPACITY];
+        this.size = 0;
+    }
+
+    /**
+     * Appends the packed Move to the end of the list.
+     *
+     * @param move packed Move
+     */
+    public void add(int move) {
+        if (this.size == this.moves.length) {
+            this.moves = Arrays.copyOf(this.moves, this.size * 2);
+        }
+        this.moves[this.size++] = move;
+    }
+
+    /**
+     * Returns the packed Move at the given index.
+     *
+     * @param index index of the Move
+     * @return packed Move
+     */
+    public int get(int index) {
+        return this.moves[index];
+    }
+
+    /**
+     * Replaces the packed Move at the given index.
+     *
+     * @param index index of the Move
+     * @param move  packed Move
+     */
+    public void set(int index, int move) {
+        this.moves[index] = move;
+    }
+
+    /**
+     * Returns the number of Moves in the list.
+     *
+     * @return number of Moves
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Checks if the list contains no Moves.
+     *
+     * @return true if the list is empty, else false
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Checks if the list contains the packed Move.
+     *
+     * @param move packed Move
+     * @return true if the Move is in the list, else false
+     */
+    public boolean contains(int move) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.moves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes all Moves from the list, keeping its storage.
+     */
+    public void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * Converts the packed Moves into Moves for the GUI and the players. The four promotions
+     * of a Pawn onto the same square are converted into a single PROMOTION Move without
+     * a promotion identifier, which is then chosen by the player.
+     *
+     * @return List of the converted Moves
+     */
+    public List<Move> toMoves() {
+        return this.toMoves(-1L);
+    }
+
+    /**
+     * Converts the packed Moves which start on one of the given squares into Moves,
+     * promotions are converted the same way as by toMoves().
+     *
+     * @param fromSquares bitboard of the starting squares of the converted Moves
+     * @return List of the converted Moves
+     */
+    public List<Move> toMoves(long fromSquares) {
+        List<Move> converted = new ArrayList<>();
+        for (int i = 0; i < this.size; i++) {
+            int move = this.moves[i];
+            if ((fromSquares & Bitboards.squareMask(PackedMove.getFrom(move))) == 0) {
+                continue;
+            }
+            if (!PackedMove.isPromotion(move)) {
+                converted.add(PackedMove.toMove(move));
+            } else if (PackedMove.getPromotion(move) == PieceType.QUEEN) {
+                Move promotion = PackedMove.toMove(move);
+                promotion.setPromotionIdentifier(null);
+                converted.add(promotion);
+            }
+        }
+        return converted;
+    }
+}
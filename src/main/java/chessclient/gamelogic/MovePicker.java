@@ -0,0 +1,293 @@
+package chessclient.gamelogic;
+
+import chessclient.pieces.Color;
+import chessclient.pieces.Piece;
+import chessclient.pieces.PieceType;
+
+/**
+ * MovePicker hands out the legal Moves of the side to move one by one, in the order in
+ * which a search is most likely to cut off: the best Move remembered by the transposition
+ * table first (see TranspositionTable), then captures and promotions, the most
+ * valuable victim taken by the least valuable attacker before the others, then the killer
+ * Moves, then the remaining quiet Moves, and last the captures which lose material by the
+ * static exchange evaluation (see StaticExchange). Each stage is generated only when it's reached,
+ * and each Move is tested for legality only when it's handed out, so a search which stops
+ * after the first few Moves doesn't pay for the rest.
+ * <p>
+ * A MovePicker is reusable, init prepares it for a new position. It mustn't be used after
+ * the Board has changed, until the Board is back in the position it was initialized with.
+ */
+public class MovePicker {
+
+    private static final int[] NO_KILLERS = new int[0];
+
+    private enum Stage {
+        HASH_MOVE,
+        CAPTURES,
+        KILLERS,
+        QUIETS,
+        BAD_CAPTURES,
+        DONE
+    }
+
+    private final MoveList captures;
+    private final MoveList quiets;
+    private final MoveList badCaptures;     /* captures losing material, handed out after the quiet Moves */
+    private int[] captureScores;            /* MVV-LVA score of each capture, see scoreCapture */
+    private Board board;
+    private Color color;
+    private int hashMove;                   /* Move of the transposition table, NONE if there's none */
+    private int[] killers;                  /* killer Moves of the position, NONE entries are skipped */
+    private int[] pickedKillers;            /* killer Moves which have been handed out */
+    private int pickedKillerCount;
+    private Stage stage;
+    private boolean capturesOnly;           /* whether only the captures which don't lose material are handed out */
+    private int index;                      /* next Move of the current stage */
+    private boolean generated;              /* whether the current stage's Moves have been generated */
+
+    /**
+     * Creates a MovePicker, which has to be initialized by init before use.
+     */
+    public MovePicker() {
+        this.captures = new MoveList();
+        this.quiets = new MoveList();
+        this.badCaptures = new MoveList();
+        this.captureScores = new int[0];
+        this.killers = new int[0];
+        this.pickedKillers = new int[0];
+        this.stage = Stage.DONE;
+    }
+
+    /**
+     * Prepares the MovePicker to hand out the Moves of the side to move on the given Board.
+     *
+     * @param board   Board with the position
+     * @param killers quiet packed Moves which caused cutoffs in sibling positions, they're
+     *                handed out after the captures if they're legal in this position
+     */
+    public void init(Board board, int[] killers) {
+        this.init(board, PackedMove.NONE, killers);
+    }
+
+    /**
+     * Prepares the MovePicker to hand out the Moves of the side to move on the given Board,
+     * starting with the given Move.
+     *
+     * @param board    Board with the position
+     * @param hashMove packed Move remembered as the best of the position, it's handed out
+     *                 first if it's legal in this position, PackedMove.NONE if there's none
+     * @param killers  quiet packed Moves which caused cutoffs in sibling positions, they're
+     *                 handed out after the captures if they're legal in this position
+     */
+    public void init(Board board, int hashMove, int[] killers) {
+        this.board = board;
+        this.color = board.getSideToMove();
+        this.hashMove = hashMove;
+        this.killers = killers;
+        if (this.pickedKillers.length < killers.length) {
+            this.pickedKillers = new int[killers.length];
+        }
+        this.pickedKillerCount = 0;
+        this.capturesOnly = false;
+        this.stage = hashMove == PackedMove.NONE ? Stage.CAPTURES : Stage.HASH_MOVE;
+        this.index = 0;
+        this.generated = false;
+    }
+
+    /**
+     * Prepares the MovePicker to hand out only the captures and promotions of the side to
+     * move which don't lose material, as a quiescence search needs.
+     *
+     * @param board Board with the position
+     */
+    public void initCaptures(Board board) {
+        this.init(board, NO_KILLERS);
+        this.capturesOnly = true;
+    }
+
+    /**
+     * Checks if the side to move on the given Board has any legal Move, the Moves are generated
+     * only until the first legal one is found. The MovePicker has to be initialized again
+     * before it hands out the Moves of a position.
+     *
+     * @param board Board with the position
+     * @return true if the side to move has a legal Move, else false
+     */
+    public boolean hasLegalMove(Board board) {
+        this.init(board, NO_KILLERS);
+        return this.next() != PackedMove.NONE;
+    }
+
+    /**
+     * Returns the next legal Move of the position.
+     *
+     * @return packed Move, PackedMove.NONE if there are no more Moves
+     */
+    public int next() {
+        while (true) {
+            switch (this.stage) {
+                case HASH_MOVE: {
+                    this.nextStage(Stage.CAPTURES);
+                    if (this.isPseudoLegal(this.hashMove) && MoveGenerator.isLegal(this.board, this.hashMove)) {
+                        return this.hashMove;
+                    }
+                    break;
+                }
+                case CAPTURES: {
+                    if (!this.generated) {
+                        this.generateCaptures();
+                    }
+                    int move = this.pickBestCapture();
+                    if (move == PackedMove.NONE) {
+                        this.nextStage(this.capturesOnly ? Stage.DONE : Stage.KILLERS);
+                    } else if (move == this.hashMove) {
+                        break;
+                    } else if (this.losesMaterial(move)) {
+                        if (!this.capturesOnly) {
+                            this.badCaptures.add(move);
+                        }
+                    } else if (MoveGenerator.isLegal(this.board, move)) {
+                        return move;
+                    }
+                    break;
+                }
+                case KILLERS: {
+                    if (this.index == this.killers.length) {
+                        this.nextStage(Stage.QUIETS);
+                        break;
+                    }
+                    int move = this.killers[this.index++];
+                    if (move != this.hashMove && !this.isPickedKiller(move)
+                            && MoveGenerator.isPseudoLegalQuiet(this.board, this.color, move)
+                            && MoveGenerator.isLegal(this.board, move)) {
+                        this.pickedKillers[this.pickedKillerCount++] = move;
+                        return move;
+                    }
+                    break;
+                }
+                case QUIETS: {
+                    if (!this.generated) {
+                        this.quiets.clear();
+                        MoveGenerator.generateQuiets(this.board, this.color, this.quiets);
+                        this.generated = true;
+                    }
+                    if (this.index == this.quiets.size()) {
+                        this.nextStage(Stage.BAD_CAPTURES);
+                        break;
+                    }
+                    int move = this.quiets.get(this.index++);
+                    if (move != this.hashMove && !this.isPickedKiller(move)
+                            && MoveGenerator.isLegal(this.board, move)) {
+                        return move;
+                    }
+                    break;
+                }
+                case BAD_CAPTURES: {
+                    if (this.index == this.badCaptures.size()) {
+                        this.nextStage(Stage.DONE);
+                        break;
+                    }
+                    int move = this.badCaptures.get(this.index++);
+                    if (MoveGenerator.isLegal(this.board, move)) {
+                        return move;
+                    }
+                    break;
+                }
+                default:
+                    return PackedMove.NONE;
+            }
+        }
+    }
+
+    private void nextStage(Stage next) {
+        this.stage = next;
+        this.index = 0;
+        this.generated = false;
+    }
+
+    private void generateCaptures() {
+        this.captures.clear();
+        this.badCaptures.clear();
+        MoveGenerator.generateCaptures(this.board, this.color, this.captures);
+        if (this.captureScores.length < this.captures.size()) {
+            this.captureScores = new int[this.captures.size()];
+        }
+        for (int i = 0; i < this.captures.size(); i++) {
+            this.captureScores[i] = this.scoreCapture(this.captures.get(i));
+        }
+        this.generated = true;
+    }
+
+    /* Scores the capture by the value of the victim, then by the cheapness of the attacker,
+     * promotions add the value of the new piece */
+    private int scoreCapture(int move) {
+        Piece attacker = this.board.getPiece(PackedMove.getFrom(move));
+        Piece victim = this.board.getPiece(PackedMove.getTo(move));
+        int victimValue = PackedMove.isEnPassant(move) ? PieceType.PAWN.ordinal() + 1
+                : victim == null ? 0 : victim.getType().ordinal() + 1;
+        int score = victimValue * PieceType.COUNT - attacker.getType().ordinal();
+        if (PackedMove.isPromotion(move)) {
+            score += PackedMove.getPromotion(move).ordinal() * PieceType.COUNT;
+        }
+        return score;
+    }
+
+    /* Swaps the best scored of the remaining captures to the current index and returns it, so the
+     * captures are sorted only as far as they're handed out */
+    private int pickBestCapture() {
+        int size = this.captures.size();
+        if (this.index == size) {
+            return PackedMove.NONE;
+        }
+
+        int best = this.index;
+        for (int i = this.index + 1; i < size; i++) {
+            if (this.captureScores[i] > this.captureScores[best]) {
+                best = i;
+            }
+        }
+        int move = this.captures.get(best);
+        this.captures.set(best, this.captures.get(this.index));
+        this.captures.set(this.index, move);
+        int score = this.captureScores[best];
+        this.captureScores[best] = this.captureScores[this.index];
+        this.captureScores[this.index] = score;
+        this.index++;
+        return move;
+    }
+
+    /* Checks if the capture loses material, which a capture of a piece worth at least the capturing
+     * piece or a promotion never does, so the exchange is evaluated only for the other captures */
+    private boolean losesMaterial(int move) {
+        if (PackedMove.isPromotion(move) || PackedMove.isEnPassant(move)) {
+            return false;
+        }
+        Piece victim = this.board.getPiece(PackedMove.getTo(move));
+        Piece attacker = this.board.getPiece(PackedMove.getFrom(move));
+        return victim.getType().getValue() < attacker.getType().getValue()
+                && !StaticExchange.isAtLeast(this.board, move, 0);
+    }
+
+    /* Checks if the Move can be played by the side to move, the Move of the transposition table may
+     * belong to another position whose key matches. The Moves of the Move's piece are generated into the
+     * quiet Moves, which aren't generated before the hash Move is handed out */
+    private boolean isPseudoLegal(int move) {
+        int from = PackedMove.getFrom(move);
+        if ((this.board.getOccupancy(this.color) & Bitboards.squareMask(from)) == 0) {
+            return false;
+        }
+        this.quiets.clear();
+        MoveGenerator.generatePseudoLegalMoves(this.board, this.color, Bitboards.squareMask(from), true, this.quiets);
+        return this.quiets.contains(move);
+    }
+
+    /* Checks if the Move has been handed out as a killer Move, so it isn't handed out twice */
+    private boolean isPickedKiller(int move) {
+        for (int i = 0; i < this.pickedKillerCount; i++) {
+            if (this.pickedKillers[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,61 @@
+package chessclient.gamelogic;
+
+/**
+ * MoveStack owns a MoveList for every ply of a Perft run, so that the Moves of a position
+ * are generated into the buffer of its ply and stay there while the positions below it
+ * are counted. The buffers are created once and reused by the whole run, so Perft doesn't
+ * allocate per position once it has reached its deepest ply.
+ * <p>
+ * A MoveStack isn't thread-safe.
+ */
+public class MoveStack {
+
+    private MoveList[] lists;
+
+    /**
+     * Creates a MoveStack with buffers for the given number of plies, more are added when
+     * a deeper ply is requested.
+     *
+     * @param plies number of plies the buffers are created for
+     */
+    public MoveStack(int plies) {
+        this.lists = new MoveList[0];
+        this.ensureCapacity(plies);
+    }
+
+    /**
+     * Returns the emptied MoveList of the given ply.
+     *
+     * @param ply index of the ply, 0 for the root of the search
+     * @return empty MoveList owned by the ply
+     */
+    public MoveList get(int ply) {
+        if (ply >= this.lists.length) {
+            this.ensureCapacity(Math.max(ply + 1, this.lists.length * 2));
+        }
+        MoveList moves = this.lists[ply];
+        moves.clear();
+        return moves;
+    }
+
+    /**
+     * Returns the number of plies the MoveStack has buffers for.
+     *
+     * @return number of plies
+     */
+    public int size() {
+        return this.lists.length;
+    }
+
+    private void ensureCapacity(int plies) {
+        if (plies <= this.lists.length) {
+            return;
+        }
+        MoveList[] grown = new MoveList[plies];
+        System.arraycopy(this.lists, 0, grown, 0, this.lists.length);
+        for (int i = this.lists.length; i < plies; i++) {
+            grown[i] = new MoveList();
+        }
+        this.lists = grown;
+    }
+}
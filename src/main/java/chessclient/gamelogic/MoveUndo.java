@@ -0,0 +1,23 @@
+package chessclient.gamelogic;
+
+import chessclient.pieces.Color;
+import chessclient.pieces.Piece;
+
+/**
+ * MoveUndo is a record of the state which is lost when a Move is played on the Board,
+ * so that Board.unmakeMove can take the Move back. Records are owned and reused by the
+ * Board's undo stack.
+ */
+class MoveUndo {
+
+    int move;                       /* packed Move which has been played */
+    Piece movedPiece;               /* Piece which was moved, the Pawn in case of promotion */
+    Piece capturedPiece;            /* captured Piece, null if the Move wasn't a capture */
+    int capturedSquare;             /* square of the captured Piece */
+    Piece castledRook;              /* Rook moved by a castle, else null */
+    Color sideToMove;               /* side to move before the Move */
+    int castlingRights;             /* castling rights before the Move */
+    int enPassantSquare;            /* en passant square before the Move */
+    long zobristKey;                /* Zobrist key of the position before the Move */
+    int halfmoveClock;              /* halfmove clock before the Move */
+}
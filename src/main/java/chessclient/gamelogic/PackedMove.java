@@ -0,0 +1,203 @@
+package chessclient.gamelogic;
+
+import chessclient.pieces.PieceType;
+
+/**
+ * PackedMove encodes a Move into a single int, so that generated Moves cost no allocation.
+ * Bits 0-5 hold the starting square, bits 6-11 the terminal square, bits 12-13 the special
+ * character of the Move, and bits 14-15 the piece a Pawn promotes into. Only the lowest
+ * 16 bits are used, 0 is never a valid Move.
+ */
+public final class PackedMove {
+
+    public static final int NONE = 0;
+
+    private static final int EN_PASSANT = 1;
+    private static final int CASTLE = 2;
+    private static final int PROMOTION = 3;
+
+    private static final int TO_SHIFT = 6;
+    private static final int SPECIAL_SHIFT = 12;
+    private static final int PROMOTION_SHIFT = 14;
+
+    /* Pieces a Pawn can promote into, indexed by the promotion bits */
+    private static final PieceType[] PROMOTIONS = {PieceType.KNIGHT, PieceType.BISHOP, PieceType.ROOK, PieceType.QUEEN};
+
+    private PackedMove() {
+
+    }
+
+    /**
+     * Encodes an ordinary Move, or a capture.
+     *
+     * @param from index of the starting square
+     * @param to   index of the terminal square
+     * @return the packed Move
+     */
+    public static int create(int from, int to) {
+        return from | to << TO_SHIFT;
+    }
+
+    /**
+     * Encodes a castle of the King.
+     *
+     * @param from index of the King's square
+     * @param to   index of the square the King castles onto
+     * @return the packed Move
+     */
+    public static int createCastle(int from, int to) {
+        return create(from, to) | CASTLE << SPECIAL_SHIFT;
+    }
+
+    /**
+     * Encodes an en passant capture.
+     *
+     * @param from index of the capturing Pawn's square
+     * @param to   index of the square the Pawn moves onto
+     * @return the packed Move
+     */
+    public static int createEnPassant(int from, int to) {
+        return create(from, to) | EN_PASSANT << SPECIAL_SHIFT;
+    }
+
+    /**
+     * Encodes a promotion of a Pawn.
+     *
+     * @param from      index of the Pawn's square
+     * @param to        index of the square on the last row
+     * @param promotion knight, bishop, rook or queen the Pawn promotes into
+     * @return the packed Move
+     */
+    public static int createPromotion(int from, int to, PieceType promotion) {
+        return create(from, to) | PROMOTION << SPECIAL_SHIFT | (promotion.ordinal() - 1) << PROMOTION_SHIFT;
+    }
+
+    /**
+     * Returns index of the starting square of the packed Move.
+     *
+     * @param move packed Move
+     * @return index of the starting square
+     */
+    public static int getFrom(int move) {
+        return move & 63;
+    }
+
+    /**
+     * Returns index of the terminal square of the packed Move.
+     *
+     * @param move packed Move
+     * @return index of the terminal square
+     */
+    public static int getTo(int move) {
+        return move >>> TO_SHIFT & 63;
+    }
+
+    /**
+     * Checks if the packed Move is an en passant capture.
+     *
+     * @param move packed Move
+     * @return true if the Move is an en passant, else false
+     */
+    public static boolean isEnPassant(int move) {
+        return (move >>> SPECIAL_SHIFT & 3) == EN_PASSANT;
+    }
+
+    /**
+     * Checks if the packed Move is a castle.
+     *
+     * @param move packed Move
+     * @return true if the Move is a castle, else false
+     */
+    public static boolean isCastle(int move) {
+        return (move >>> SPECIAL_SHIFT & 3) == CASTLE;
+    }
+
+    /**
+     * Checks if the packed Move is a promotion of a Pawn.
+     *
+     * @param move packed Move
+     * @return true if the Move is a promotion, else false
+     */
+    public static boolean isPromotion(int move) {
+        return (move >>> SPECIAL_SHIFT & 3) == PROMOTION;
+    }
+
+    /**
+     * Returns the piece a Pawn promotes into, the Move has to be a promotion.
+     *
+     * @param move packed promotion
+     * @return PieceType of the promoted piece
+     */
+    public static PieceType getPromotion(int move) {
+        return PROMOTIONS[move >>> PROMOTION_SHIFT & 3];
+    }
+
+    /**
+     * Encodes the given Move. Promotion without a promotion identifier is encoded
+     * as a promotion into a queen.
+     *
+     * @param m Move to be encoded
+     * @return the packed Move
+     */
+    public static int fromMove(Move m) {
+        int from = Bitboards.toSquare(m.getFrom()[0], m.getFrom()[1]);
+        int to = Bitboards.toSquare(m.getTo()[0], m.getTo()[1]);
+        SpecialMove specialMove = m.getSpecialMove();
+
+        if (specialMove == null) {
+            return create(from, to);
+        }
+        switch (specialMove) {
+            case EN_PASSANT:
+                return createEnPassant(from, to);
+            case CASTLE:
+                return createCastle(from, to);
+            default:
+                return createPromotion(from, to, toPieceType(m.getPromotionIdentifier()));
+        }
+    }
+
+    /**
+     * Decodes the given packed Move into a Move, which can be passed to the GUI or sent
+     * to the server.
+     *
+     * @param move the packed Move
+     * @return the decoded Move
+     */
+    public static Move toMove(int move) {
+        int from = getFrom(move);
+        int to = getTo(move);
+        int[] fromPos = new int[]{Bitboards.row(from), Bitboards.column(from)};
+        int[] toPos = new int[]{Bitboards.row(to), Bitboards.column(to)};
+
+        switch (move >>> SPECIAL_SHIFT & 3) {
+            case EN_PASSANT:
+                return new Move(fromPos, toPos, SpecialMove.EN_PASSANT);
+            case CASTLE:
+                return new Move(fromPos, toPos, SpecialMove.CASTLE);
+            case PROMOTION:
+                Move m = new Move(fromPos, toPos, SpecialMove.PROMOTION);
+                m.setPromotionIdentifier(getPromotion(move).toString().toLowerCase());
+                return m;
+            default:
+                return new Move(fromPos, toPos);
+        }
+    }
+
+    /* Converts the promotion identifier of a Move into the type of the promoted piece */
+    private static PieceType toPieceType(String promotionIdentifier) {
+        if (promotionIdentifier == null) {
+            return PieceType.QUEEN;
+        }
+        switch (promotionIdentifier) {
+            case "bishop":
+                return PieceType.BISHOP;
+            case "knight":
+                return PieceType.KNIGHT;
+            case "rook":
+                return PieceType.ROOK;
+            default:
+                return PieceType.QUEEN;
+        }
+    }
+}
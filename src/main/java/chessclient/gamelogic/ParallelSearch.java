@@ -0,0 +1,161 @@
+package chessclient.gamelogic;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * ParallelSearch searches a position on several threads which share a transposition table
+ * (see TranspositionTable), also known as lazy SMP. The main Search runs on the calling
+ * thread and decides the best Move, as a single Search would. Every helper thread runs its
+ * own Search on its own copy of the Board, and half of the helpers search one ply deeper
+ * than the main Search. The helpers don't report their Moves, they fill the shared table
+ * with positions the main Search then doesn't have to search again, so the main Search
+ * completes deeper iterations in the same time. The helpers are stopped as soon as the main
+ * Search ends.
+ */
+public class ParallelSearch {
+
+    private static final Logger logger = Logger.getLogger(ParallelSearch.class.getName());
+
+    private final Board board;
+    private final Board[] helperBoards;     /* copy of the Board for every helper thread */
+    private final TranspositionTable table;
+    private volatile Search main;
+    private volatile Search[] helpers;
+    private long nodes;
+
+    /**
+     * Creates a ParallelSearch of the position on the given Board. The Board is changed
+     * during the search and restored when the search ends, so it should be a copy of
+     * the game board.
+     *
+     * @param board   Board with the searched position
+     * @param table   transposition table shared by all the threads
+     * @param threads number of the searching threads including the calling thread, at least 1
+     */
+    public ParallelSearch(Board board, TranspositionTable table, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("The search needs at least one thread");
+        }
+        this.board = board;
+        this.table = table;
+        this.helperBoards = new Board[threads - 1];
+        for (int i = 0; i < this.helperBoards.length; i++) {
+            this.helperBoards[i] = new Board(board);
+        }
+        this.main = new Search(board, table);
+        this.helpers = new Search[0];
+        this.nodes = 0;
+    }
+
+    /**
+     * Searches the position with increasing depth until the given depth is completed, the
+     * deadline passes or the search is stopped.
+     *
+     * @param maxDepth the deepest iteration of the main Search, at least 1
+     * @param deadline value of System.nanoTime at which the search stops
+     * @return the best packed Move found, PackedMove.NONE if the side to move has no legal Move
+     */
+    public int search(int maxDepth, long deadline) {
+        return this.search(maxDepth, deadline, null);
+    }
+
+    /**
+     * Searches the position with increasing depth until the given depth is completed, the
+     * TimeManager stops the iterations of the main Search or its hard deadline passes, or
+     * the search is stopped.
+     *
+     * @param maxDepth    the deepest iteration of the main Search, at least 1
+     * @param timeManager budget of the searched Move
+     * @return the best packed Move found, PackedMove.NONE if the side to move has no legal Move
+     */
+    public int search(int maxDepth, TimeManager timeManager) {
+        return this.search(maxDepth, timeManager.getHardDeadline(), timeManager);
+    }
+
+    private int search(int maxDepth, long deadline, TimeManager timeManager) {
+        //a stopped Search can't be started again, so every search gets new ones
+        Search mainSearch = new Search(this.board, this.table);
+        mainSearch.setShared(0);
+        Search[] helperSearches = new Search[this.helperBoards.length];
+        Thread[] threads = new Thread[helperSearches.length];
+        for (int i = 0; i < helperSearches.length; i++) {
+            Search helper = new Search(this.helperBoards[i], this.table);
+            int index = i + 1;
+            helper.setShared(index);
+            helperSearches[i] = helper;
+            threads[i] = new Thread(() -> helper.search(Search.MAX_PLY, deadline), "Search helper " + index);
+            threads[i].setDaemon(true);
+        }
+        this.main = mainSearch;
+        this.helpers = helperSearches;
+
+        this.table.newSearch();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        int move = timeManager == null ? mainSearch.search(maxDepth, deadline)
+                : mainSearch.search(maxDepth, timeManager);
+
+        this.nodes = mainSearch.getNodes();
+        for (int i = 0; i < helperSearches.length; i++) {
+            helperSearches[i].stop();
+            try {
+                threads[i].join();
+            } catch (InterruptedException e) {
+                logger.log(Level.WARNING, "Interrupted while waiting for a search helper", e);
+                Thread.currentThread().interrupt();
+            }
+            this.nodes += helperSearches[i].getNodes();
+        }
+        return move;
+    }
+
+    /**
+     * Stops the main Search and all the helpers as soon as possible, the search returns the
+     * best Move of the last completed iteration of the main Search.
+     */
+    public void stop() {
+        this.main.stop();
+        for (Search helper : this.helpers) {
+            helper.stop();
+        }
+    }
+
+    /**
+     * Returns the best Move of the last completed iteration of the main Search.
+     *
+     * @return packed Move, PackedMove.NONE if there is no legal Move
+     */
+    public int getBestMove() {
+        return this.main.getBestMove();
+    }
+
+    /**
+     * Returns score of the best Move of the last completed iteration of the main Search, from
+     * the point of view of the side to move.
+     *
+     * @return score in centipawns
+     */
+    public int getBestScore() {
+        return this.main.getBestScore();
+    }
+
+    /**
+     * Returns the depth of the last completed iteration of the main Search.
+     *
+     * @return completed depth in plies, 0 if no iteration has been completed
+     */
+    public int getCompletedDepth() {
+        return this.main.getCompletedDepth();
+    }
+
+    /**
+     * Returns the number of positions visited by all the threads of the last search.
+     *
+     * @return number of nodes
+     */
+    public long getNodes() {
+        return this.nodes;
+    }
+}
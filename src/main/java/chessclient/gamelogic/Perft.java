@@ -0,0 +1,137 @@
+package chessclient.gamelogic;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Perft counts the leaf nodes of the tree of legal Moves of a position up to a given depth.
+ * The counts of well known positions verify the move generator and the make/unmake of Moves,
+ * see PerftTest. The command line narrows a wrong count down to the root Move whose subtree
+ * differs, and measures the speed of the generator without the GUI.
+ * <p>
+ * Usage: {@code Perft <depth> [fen]} prints the node count of every root Move ("divide"),
+ * the total count and the nodes per second, of the standard starting position if no FEN is
+ * given.
+ */
+public final class Perft {
+
+    private static final String START_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    private final BoardRepresentation board;
+    private final MoveStack moveStack;     /* MoveList of every ply, reused by the whole run */
+
+    /**
+     * Creates a Perft of the position on the given board. The board is changed during
+     * the counting and restored when the counting ends.
+     *
+     * @param board    board with the counted position, its side to move moves first
+     * @param maxDepth the largest depth which will be counted
+     */
+    public Perft(BoardRepresentation board, int maxDepth) {
+        this.board = board;
+        this.moveStack = new MoveStack(maxDepth + 1);
+    }
+
+    /**
+     * Counts the leaf nodes of the tree of legal Moves with the given depth.
+     *
+     * @param depth depth of the tree, at least 1
+     * @return number of the leaf nodes
+     */
+    public long perft(int depth) {
+        MoveList moves = this.moveStack.get(depth);
+        this.board.generateLegalMoves(this.board.getSideToMove(), moves);
+        if (depth == 1) {
+            return moves.size();
+        }
+
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            this.board.makeMove(moves.get(i));
+            nodes += this.perft(depth - 1);
+            this.board.unmakeMove();
+        }
+        return nodes;
+    }
+
+    /**
+     * Counts the leaf nodes of the tree with the given depth separately for every
+     * legal Move of the position.
+     *
+     * @param depth depth of the tree, at least 1
+     * @return number of the leaf nodes under every root Move, keyed by the Move in
+     * coordinate notation e.g. e2e4 or a7a8q
+     */
+    public Map<String, Long> divide(int depth) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        MoveList moves = this.moveStack.get(depth);
+        this.board.generateLegalMoves(this.board.getSideToMove(), moves);
+
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            long nodes = 1;
+            if (depth > 1) {
+                this.board.makeMove(move);
+                nodes = this.perft(depth - 1);
+                this.board.unmakeMove();
+            }
+            counts.put(toNotation(move), nodes);
+        }
+        return counts;
+    }
+
+    /**
+     * Converts the packed Move into coordinate notation, e.g. e2e4 or a7a8q.
+     *
+     * @param move packed Move
+     * @return the Move in coordinate notation
+     */
+    public static String toNotation(int move) {
+        String notation = toNotationSquare(PackedMove.getFrom(move)) + toNotationSquare(PackedMove.getTo(move));
+        if (PackedMove.isPromotion(move)) {
+            String type = PackedMove.getPromotion(move).toString().toLowerCase();
+            notation += type.equals("knight") ? "n" : type.substring(0, 1);
+        }
+        return notation;
+    }
+
+    /* Converts the square index into algebraic notation, square 0 is a8 */
+    private static String toNotationSquare(int square) {
+        return "" + (char) ('a' + Bitboards.column(square)) + (Board.BOARD_HEIGHT - Bitboards.row(square));
+    }
+
+    /**
+     * Runs the perft from the command line, see the class description.
+     *
+     * @param args {@code <depth> [fen]}
+     */
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.out.println("Usage: Perft <depth> [fen]");
+            return;
+        }
+
+        int depth = Integer.parseInt(args[0]);
+        String fen = args.length > 1 ? String.join(" ", Arrays.copyOfRange(args, 1, args.length)) : START_POSITION;
+        Perft perft = new Perft(new BoardInitializer().initializeFromFen(fen), depth);
+
+        long start = System.nanoTime();
+        Map<String, Long> counts = perft.divide(depth);
+        long elapsed = System.nanoTime() - start;
+        long total = 0;
+        for (Map.Entry<String, Long> entry : counts.entrySet()) {
+            System.out.println(entry.getKey() + ": " + entry.getValue());
+            total += entry.getValue();
+        }
+        System.out.println();
+        System.out.println("Moves: " + counts.size());
+        System.out.println("Nodes: " + total);
+        System.out.println("Time: " + elapsed / 1_000_000 + " ms");
+        System.out.println("Nodes per second: " + nodesPerSecond(total, elapsed));
+    }
+
+    private static long nodesPerSecond(long nodes, long nanos) {
+        return nanos == 0 ? 0 : nodes * 1_000_000_000L / nanos;
+    }
+}
@@ -0,0 +1,480 @@
+package chessclient.gamelogic;
+
+import chessclient.pieces.Color;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Search looks for the best Move of the side to move by an iterative deepening negamax
+ * alpha-beta search. Each iteration searches one ply deeper than the previous one, and
+ * starts with the best Move of the previous iteration, so an iteration which has to be
+ * stopped early still leaves a Move found by a complete iteration. The iterations are
+ * either limited by a fixed deadline, or budgeted by a TimeManager.
+ * <ul>
+ * <li>principal variation search - after the first Move of a position, the other Moves are
+ * searched with a null window, which only proves they aren't better, and they are searched
+ * again with the full window only if they are</li>
+ * <li>null move pruning - if the position is still good enough for a cutoff after passing
+ * the turn to the opponent and a shallower search, it isn't searched any further</li>
+ * <li>late move reductions - quiet Moves which are ordered late are searched shallower, and
+ * again at full depth only if they beat the best Move so far</li>
+ * <li>transposition table - the results of searched positions are remembered, a position
+ * searched deep enough before isn't searched again, and the best Move found before is tried
+ * first otherwise, see TranspositionTable</li>
+ * <li>killer Moves - quiet Moves which caused a cutoff are tried early in sibling positions,
+ * see MovePicker</li>
+ * <li>quiescence search - at the end of the depth, the captures which don't lose material
+ * are played out, so positions in the middle of an exchange aren't evaluated</li>
+ * </ul>
+ * The search plays the Moves on its own Board, which mustn't be changed during the search,
+ * and allocates nothing per position. A Search is used by a single thread, but stop can
+ * be called from any thread. Several Searches can share a transposition table, see
+ * ParallelSearch, or search parts of the same tree, see ForkJoinSearch.
+ */
+public class Search {
+
+    /** Score of a checkmate, mates in fewer plies score higher */
+    public static final int MATE = 30000;
+    /** The deepest ply a search reaches, including the quiescence search */
+    public static final int MAX_PLY = 64;
+
+    private static final int INFINITY = MATE + 1;
+    private static final int CHECK_INTERVAL = 256;      /* nodes between the checks of the deadline */
+    private static final int NULL_MOVE_MIN_DEPTH = 3;
+    private static final int REDUCTION_MIN_DEPTH = 3;
+    private static final int REDUCTION_MIN_MOVES = 3;   /* Moves searched at full depth before any reduction */
+
+    private Board board;
+    private final TranspositionTable table;
+    private final MovePicker[] pickers;     /* MovePicker of every ply */
+    private final int[][] killers;          /* two killer Moves of every ply */
+    private final MoveList rootMoves;
+    private volatile boolean stopped;
+    private boolean shared;                 /* whether the Search is a thread of a ParallelSearch */
+    private int startDepth;                 /* depth of the first iteration */
+    private long deadline;                  /* System.nanoTime after which the search stops */
+    private BooleanSupplier aborted;        /* checked with the deadline, null if only the deadline stops the search */
+    private long nodes;
+    private int bestMove;
+    private int bestScore;
+    private int completedDepth;
+
+    /**
+     * Creates a Search of the position on the given Board with its own transposition table
+     * of the default size. The Board is changed during the search and restored when the
+     * search ends, so it should be a copy of the game board.
+     *
+     * @param board Board with the searched position
+     */
+    public Search(Board board) {
+        this(board, new TranspositionTable(TranspositionTable.DEFAULT_SIZE));
+    }
+
+    /**
+     * Creates a Search of the position on the given Board. The Board is changed during the
+     * search and restored when the search ends, so it should be a copy of the game board.
+     * The transposition table can be kept between the searches of a game, so the results of
+     * the previous Moves are reused.
+     *
+     * @param board Board with the searched position
+     * @param table transposition table the search remembers its results in
+     */
+    public Search(Board board, TranspositionTable table) {
+        this.board = board;
+        this.table = table;
+        this.pickers = new MovePicker[MAX_PLY];
+        this.killers = new int[MAX_PLY][2];
+        for (int i = 0; i < MAX_PLY; i++) {
+            this.pickers[i] = new MovePicker();
+        }
+        this.rootMoves = new MoveList();
+        this.shared = false;
+        this.startDepth = 1;
+        this.aborted = null;
+    }
+
+    /**
+     * Makes the Search one of the threads of a ParallelSearch, which starts the new search
+     * of the shared transposition table itself. A shared Search is searched only once, it
+     * stays stopped if it's stopped before its search starts. Half of the threads start one
+     * ply deeper, so they don't all search the same iteration at the same time.
+     *
+     * @param index index of the thread, 0 for the main Search
+     */
+    void setShared(int index) {
+        this.shared = true;
+        this.startDepth = 1 + index % 2;
+    }
+
+    /**
+     * Searches the position with increasing depth until the given depth is completed, the
+     * deadline passes or the search is stopped.
+     *
+     * @param maxDepth the deepest iteration, at least 1
+     * @param deadline value of System.nanoTime at which the search stops
+     * @return the best packed Move found, PackedMove.NONE if the side to move has no legal Move
+     */
+    public int search(int maxDepth, long deadline) {
+        return this.search(maxDepth, deadline, null);
+    }
+
+    /**
+     * Searches the position with increasing depth until the given depth is completed, the
+     * TimeManager stops the iterations or its hard deadline passes, or the search is stopped.
+     *
+     * @param maxDepth    the deepest iteration, at least 1
+     * @param timeManager budget of the searched Move
+     * @return the best packed Move found, PackedMove.NONE if the side to move has no legal Move
+     */
+    public int search(int maxDepth, TimeManager timeManager) {
+        return this.search(maxDepth, timeManager.getHardDeadline(), timeManager);
+    }
+
+    private int search(int maxDepth, long deadline, TimeManager timeManager) {
+        if (!this.shared) {
+            this.stopped = false;
+            this.table.newSearch();
+        }
+        this.deadline = deadline;
+        this.nodes = 0;
+        this.completedDepth = 0;
+        this.bestScore = 0;
+        for (int[] plyKillers : this.killers) {
+            plyKillers[0] = PackedMove.NONE;
+            plyKillers[1] = PackedMove.NONE;
+        }
+
+        this.rootMoves.clear();
+        MovePicker picker = this.pickers[0];
+        picker.init(this.board, this.killers[0]);
+        for (int move = picker.next(); move != PackedMove.NONE; move = picker.next()) {
+            this.rootMoves.add(move);
+        }
+        this.bestMove = this.rootMoves.isEmpty() ? PackedMove.NONE : this.rootMoves.get(0);
+        if (this.rootMoves.size() <= 1 || System.nanoTime() - deadline >= 0) {
+            //the first ordered Move is played at once when there's no time left for the search
+            return this.bestMove;
+        }
+
+        for (int depth = this.startDepth; depth <= Math.min(maxDepth, MAX_PLY - 1) && !this.stopped; depth++) {
+            int previousBest = this.bestMove;
+            this.searchRoot(depth);
+            if (Math.abs(this.bestScore) >= MATE - depth) {
+                //a mate within the depth can't be improved by searching deeper
+                break;
+            }
+            if (timeManager != null && timeManager.isSoftLimitReached(this.bestMove != previousBest)) {
+                break;
+            }
+        }
+        return this.bestMove;
+    }
+
+    /**
+     * Searches a single position of a ForkJoinSearch's tree on the given Board, with the
+     * Moves which led to it from the root already played. The Search keeps its killer Moves
+     * and its node count between the positions, so each thread of a ForkJoinSearch reuses
+     * its own Search.
+     *
+     * @param board    Board with the searched position, restored when the search ends
+     * @param depth    remaining depth
+     * @param ply      number of plies between the root and the position
+     * @param alpha    the lowest score of the window
+     * @param beta     the highest score of the window
+     * @param deadline value of System.nanoTime at which the search stops
+     * @param aborted  checked with the deadline, the search stops once it returns true
+     * @return score of the position for the side to move, meaningless if the search stopped
+     */
+    int searchPosition(Board board, int depth, int ply, int alpha, int beta, long deadline, BooleanSupplier aborted) {
+        this.board = board;
+        this.deadline = deadline;
+        this.aborted = aborted;
+        this.stopped = false;
+        return this.negamax(depth, ply, alpha, beta, true);
+    }
+
+    /**
+     * Stops the search as soon as possible, the search returns the best Move of the last
+     * completed iteration.
+     */
+    public void stop() {
+        this.stopped = true;
+    }
+
+    /* Searches every root Move with the given depth, and moves the best Move to the front of the
+     * root Moves, so that the next iteration starts with it */
+    private void searchRoot(int depth) {
+        int alpha = -INFINITY;
+        int best = PackedMove.NONE;
+        for (int i = 0; i < this.rootMoves.size(); i++) {
+            int move = this.rootMoves.get(i);
+            this.board.makeMove(move);
+            int score;
+            if (i == 0) {
+                score = -this.negamax(depth - 1, 1, -INFINITY, -alpha, true);
+            } else {
+                score = -this.negamax(depth - 1, 1, -alpha - 1, -alpha, true);
+                if (score > alpha && !this.stopped) {
+                    score = -this.negamax(depth - 1, 1, -INFINITY, -alpha, true);
+                }
+            }
+            this.board.unmakeMove();
+            if (this.stopped) {
+                return;
+            }
+            if (score > alpha) {
+                alpha = score;
+                best = move;
+                //keep the Moves in order of the iterations they were the best in
+                for (int j = i; j > 0; j--) {
+                    this.rootMoves.set(j, this.rootMoves.get(j - 1));
+                }
+                this.rootMoves.set(0, move);
+            }
+        }
+        this.bestMove = best;
+        this.bestScore = alpha;
+        this.completedDepth = depth;
+        this.table.store(this.board.getZobristKey(), best, alpha, depth, TranspositionTable.EXACT, 0);
+    }
+
+    /* Returns the score of the position for the side to move, searched with the given remaining depth */
+    private int negamax(int depth, int ply, int alpha, int beta, boolean nullMoveAllowed) {
+        if (this.isTimeUp()) {
+            return 0;
+        }
+        if (isDraw(this.board, this.pickers[ply])) {
+            return 0;
+        }
+        Color color = this.board.getSideToMove();
+        boolean inCheck = Ruleset.isKingChecked(color, this.board);
+        if (inCheck) {
+            //a check is searched one ply deeper, so the escapes and the mates behind it are seen
+            depth++;
+        }
+        if (depth <= 0 || ply >= MAX_PLY - 1) {
+            return this.quiesce(ply, alpha, beta);
+        }
+
+        boolean pvNode = beta - alpha > 1;
+        long key = this.board.getZobristKey();
+        long entry = this.table.probe(key);
+        int hashMove = PackedMove.NONE;
+        if (entry != TranspositionTable.MISS) {
+            hashMove = TranspositionTable.getMove(entry);
+            //the principal variation is searched again, so that it's found whole
+            if (!pvNode && TranspositionTable.getDepth(entry) >= depth) {
+                int score = TranspositionTable.getScore(entry, ply);
+                int bound = TranspositionTable.getBound(entry);
+                if (bound == TranspositionTable.EXACT || (bound == TranspositionTable.LOWER_BOUND && score >= beta)
+                        || (bound == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        if (nullMoveAllowed && !pvNode && !inCheck && depth >= NULL_MOVE_MIN_DEPTH
+                && Evaluation.hasPieces(this.board, color) && Evaluation.evaluate(this.board) >= beta) {
+            int reduction = depth >= 6 ? 3 : 2;
+            this.board.makeNullMove();
+            int score = -this.negamax(depth - 1 - reduction, ply + 1, -beta, -beta + 1, false);
+            this.board.unmakeNullMove();
+            if (this.stopped) {
+                return 0;
+            }
+            if (score >= beta) {
+                //mates found after passing the turn aren't proven
+                return score >= MATE - MAX_PLY ? beta : score;
+            }
+        }
+
+        MovePicker picker = this.pickers[ply];
+        picker.init(this.board, hashMove, this.killers[ply]);
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestMove = PackedMove.NONE;
+        int moveCount = 0;
+        for (int move = picker.next(); move != PackedMove.NONE; move = picker.next()) {
+            moveCount++;
+            boolean quiet = this.isQuiet(move);
+            this.board.makeMove(move);
+            int score;
+            if (moveCount == 1) {
+                score = -this.negamax(depth - 1, ply + 1, -beta, -alpha, true);
+            } else {
+                int reduction = 0;
+                if (quiet && !inCheck && depth >= REDUCTION_MIN_DEPTH && moveCount > REDUCTION_MIN_MOVES
+                        && !this.isKiller(ply, move) && !Ruleset.isKingChecked(this.board.getSideToMove(), this.board)) {
+                    reduction = Math.min(moveCount > 2 * REDUCTION_MIN_MOVES + 2 ? 2 : 1, depth - 2);
+                }
+                score = -this.negamax(depth - 1 - reduction, ply + 1, -alpha - 1, -alpha, true);
+                if (score > alpha && reduction > 0) {
+                    score = -this.negamax(depth - 1, ply + 1, -alpha - 1, -alpha, true);
+                }
+                if (score > alpha && score < beta) {
+                    score = -this.negamax(depth - 1, ply + 1, -beta, -alpha, true);
+                }
+            }
+            this.board.unmakeMove();
+            if (this.stopped) {
+                return 0;
+            }
+
+            if (score > best) {
+                best = score;
+                if (score > alpha) {
+                    alpha = score;
+                    bestMove = move;
+                }
+                if (alpha >= beta) {
+                    if (quiet) {
+                        this.storeKiller(ply, move);
+                    }
+                    break;
+                }
+            }
+        }
+
+        int bound;
+        if (moveCount == 0) {
+            //a checkmate or a stalemate is exact
+            best = inCheck ? -MATE + ply : 0;
+            bound = TranspositionTable.EXACT;
+        } else {
+            bound = best >= beta ? TranspositionTable.LOWER_BOUND
+                    : best > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER_BOUND;
+        }
+        this.table.store(key, bestMove, best, depth, bound, ply);
+        return best;
+    }
+
+    /* Plays out the captures which don't lose material, the side to move can also stand pat on the
+     * static evaluation unless it's in check */
+    private int quiesce(int ply, int alpha, int beta) {
+        if (this.isTimeUp()) {
+            return 0;
+        }
+        Color color = this.board.getSideToMove();
+        boolean inCheck = Ruleset.isKingChecked(color, this.board);
+        if (ply >= MAX_PLY - 1) {
+            return inCheck ? 0 : Evaluation.evaluate(this.board);
+        }
+
+        int best = -INFINITY;
+        MovePicker picker = this.pickers[ply];
+        if (inCheck) {
+            //every escape from the check has to be searched, not only the captures
+            picker.init(this.board, this.killers[ply]);
+        } else {
+            best = Evaluation.evaluate(this.board);
+            if (best >= beta) {
+                return best;
+            }
+            alpha = Math.max(alpha, best);
+            picker.initCaptures(this.board);
+        }
+
+        int moveCount = 0;
+        for (int move = picker.next(); move != PackedMove.NONE; move = picker.next()) {
+            moveCount++;
+            this.board.makeMove(move);
+            int score = -this.quiesce(ply + 1, -beta, -alpha);
+            this.board.unmakeMove();
+            if (this.stopped) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                if (score > alpha) {
+                    alpha = score;
+                }
+                if (alpha >= beta) {
+                    break;
+                }
+            }
+        }
+
+        if (inCheck && moveCount == 0) {
+            return -MATE + ply;
+        }
+        return best;
+    }
+
+    /* Counts the node, and checks the deadline once in a while */
+    private boolean isTimeUp() {
+        if (++this.nodes % CHECK_INTERVAL == 0 && (System.nanoTime() - this.deadline >= 0
+                || (this.aborted != null && this.aborted.getAsBoolean()))) {
+            this.stopped = true;
+        }
+        return this.stopped;
+    }
+
+    /* Checks if the position is drawn by the fifty move rule, a repetition or insufficient material. A
+     * single repetition is enough, as the search could repeat the position again. The MovePicker of the
+     * ply looks for a legal Move when the fifty move rule could be overridden by a checkmate */
+    static boolean isDraw(Board b, MovePicker picker) {
+        return b.getRepetitionCount() >= 2 || b.hasInsufficientMaterial() || isFiftyMoveDraw(b, picker);
+    }
+
+    /* Checks the fifty move rule, a checkmate delivered by the hundredth halfmove still wins */
+    private static boolean isFiftyMoveDraw(Board b, MovePicker picker) {
+        if (b.getHalfmoveClock() < 100) {
+            return false;
+        }
+        return !Ruleset.isKingChecked(b.getSideToMove(), b) || picker.hasLegalMove(b);
+    }
+
+    private boolean isQuiet(int move) {
+        return !PackedMove.isPromotion(move) && !PackedMove.isEnPassant(move)
+                && this.board.getPiece(PackedMove.getTo(move)) == null;
+    }
+
+    private boolean isKiller(int ply, int move) {
+        return this.killers[ply][0] == move || this.killers[ply][1] == move;
+    }
+
+    /* Remembers the quiet Move which caused a cutoff, the older killer Move is replaced */
+    private void storeKiller(int ply, int move) {
+        if (this.killers[ply][0] != move) {
+            this.killers[ply][1] = this.killers[ply][0];
+            this.killers[ply][0] = move;
+        }
+    }
+
+    /**
+     * Returns the best Move of the last completed iteration.
+     *
+     * @return packed Move, PackedMove.NONE if there is no legal Move
+     */
+    public int getBestMove() {
+        return this.bestMove;
+    }
+
+    /**
+     * Returns score of the best Move of the last completed iteration, from the point of
+     * view of the side to move. Mate scores are MATE minus the plies to the mate.
+     *
+     * @return score in centipawns
+     */
+    public int getBestScore() {
+        return this.bestScore;
+    }
+
+    /**
+     * Returns the depth of the last completed iteration.
+     *
+     * @return completed depth in plies, 0 if no iteration has been completed
+     */
+    public int getCompletedDepth() {
+        return this.completedDepth;
+    }
+
+    /**
+     * Returns the number of positions visited by the last search.
+     *
+     * @return number of nodes
+     */
+    public long getNodes() {
+        return this.nodes;
+    }
+}
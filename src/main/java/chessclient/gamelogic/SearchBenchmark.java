@@ -0,0 +1,99 @@
+package chessclient.gamelogic;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * SearchBenchmark compares the parallel searches against the single-threaded Search. The
+ * sample positions are searched to a fixed depth by every SearchMode with 1, 2, 4 and more
+ * threads, up to the given count, and for each run the benchmark prints:
+ * <ul>
+ * <li>time - the time to complete the depth in all the positions</li>
+ * <li>speedup - the time of the single-threaded Search divided by the time of the run</li>
+ * <li>nodes per second - the positions visited by all the threads, which shows how well
+ * the threads are kept busy, while the speedup also counts the work they duplicate</li>
+ * </ul>
+ * Every search starts with an empty transposition table, and the runs are measured after
+ * a few warm-up rounds. The speedup can't exceed the number of available cores, which is
+ * printed first.
+ * <p>
+ * Usage: {@code SearchBenchmark [depth] [threads]}, depth 8 and 32 threads by default.
+ */
+public final class SearchBenchmark {
+
+    private static final int DEFAULT_DEPTH = 8;
+    private static final int DEFAULT_THREADS = 32;
+    private static final int WARM_UP_ROUNDS = 3;
+
+    private static final String[] POSITIONS = {
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+            "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+    };
+
+    private SearchBenchmark() {
+
+    }
+
+    /**
+     * Runs the benchmark from the command line, see the class description.
+     *
+     * @param args {@code [depth] [threads]}
+     */
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_DEPTH;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_THREADS;
+        System.out.println("Available cores: " + Runtime.getRuntime().availableProcessors());
+
+        //the compiler has to optimize the searches before anything is measured
+        for (int round = 0; round < WARM_UP_ROUNDS; round++) {
+            run(null, 1, depth);
+            for (SearchMode mode : SearchMode.values()) {
+                run(mode, 2, depth);
+            }
+        }
+        long[] single = run(null, 1, depth);
+        print("Search", 1, single, single[0]);
+        for (SearchMode mode : SearchMode.values()) {
+            for (int threads = 1; threads <= maxThreads; threads *= 2) {
+                print(mode.name(), threads, run(mode, threads, depth), single[0]);
+            }
+        }
+    }
+
+    /* Searches all the positions to the depth, the mode is null for the single-threaded Search,
+     * returns the time in nanoseconds and the number of nodes */
+    private static long[] run(SearchMode mode, int threads, int depth) {
+        ForkJoinPool pool = mode == SearchMode.FORK_JOIN ? new ForkJoinPool(threads) : null;
+        long time = 0;
+        long nodes = 0;
+        for (String fen : POSITIONS) {
+            Board board = new BoardInitializer().initializeFromFen(fen);
+            TranspositionTable table = new TranspositionTable(TranspositionTable.DEFAULT_SIZE);
+            long start = System.nanoTime();
+            if (mode == null) {
+                Search search = new Search(board, table);
+                search.search(depth, Long.MAX_VALUE);
+                nodes += search.getNodes();
+            } else if (mode == SearchMode.SHARED_HASH) {
+                ParallelSearch search = new ParallelSearch(board, table, threads);
+                search.search(depth, Long.MAX_VALUE);
+                nodes += search.getNodes();
+            } else {
+                ForkJoinSearch search = new ForkJoinSearch(board, table, pool);
+                search.search(depth, Long.MAX_VALUE);
+                nodes += search.getNodes();
+            }
+            time += System.nanoTime() - start;
+        }
+        if (pool != null) {
+            pool.shutdown();
+        }
+        return new long[]{time, nodes};
+    }
+
+    private static void print(String name, int threads, long[] result, long singleTime) {
+        System.out.printf("%-12s %2d threads %8d ms  speedup %5.2f  %,12d nodes/s%n", name, threads,
+                result[0] / 1_000_000, (double) singleTime / result[0], result[1] * 1_000_000_000L / result[0]);
+    }
+}
@@ -0,0 +1,12 @@
+package chessclient.gamelogic;
+
+/**
+ * Enum SearchMode defines how an engine player spreads its search over several threads.
+ * With SHARED_HASH every thread searches the whole tree and the threads share only the
+ * transposition table, see ParallelSearch. With FORK_JOIN the tree is split between the
+ * threads of a ForkJoinPool, see ForkJoinSearch.
+ */
+public enum SearchMode {
+    SHARED_HASH,
+    FORK_JOIN
+}
@@ -0,0 +1,121 @@
+package chessclient.gamelogic;
+
+import chessclient.pieces.Color;
+import chessclient.pieces.Piece;
+import chessclient.pieces.PieceType;
+
+/**
+ * StaticExchange resolves the sequence of captures on a single square without playing any
+ * Move, and returns the material won or lost by it (see PieceType.getValue). Both players
+ * always recapture with their least valuable attacker, and either player stops capturing
+ * when going on would lose material. Sliders behind a capturing piece (x-rays) join the
+ * exchange as soon as the capturing piece leaves its square.
+ * <p>
+ * The exchange is computed from the bitboards only, so it's cheap enough to order and
+ * prune captures in a search, see MovePicker. Pins, checks and promotions during the
+ * exchange are ignored, and a King captures only if the opponent has no attacker left. The
+ * recursion keeps its state on the call stack, so the evaluation doesn't allocate.
+ */
+public final class StaticExchange {
+
+    private StaticExchange() {
+
+    }
+
+    /**
+     * Returns the material balance of the given Move followed by the best sequence of
+     * captures on its target square, from the point of view of the player playing the Move.
+     * A quiet Move onto a square the opponent wins is negative, castles are 0.
+     *
+     * @param b    the current game board
+     * @param move packed pseudo-legal Move of the side to move
+     * @return material won by the exchange in centipawns, negative if material is lost
+     */
+    public static int evaluate(Board b, int move) {
+        if (PackedMove.isCastle(move)) {
+            return 0;
+        }
+        int from = PackedMove.getFrom(move);
+        int to = PackedMove.getTo(move);
+        Piece moved = b.getPiece(from);
+        Color enemy = moved.getColor().opposite();
+        long occupied = b.getOccupancy() ^ Bitboards.squareMask(from);
+
+        int gain = 0;
+        if (PackedMove.isEnPassant(move)) {
+            //the captured pawn isn't on the target square, it can't block the x-rays any more
+            occupied ^= Bitboards.squareMask(from - Bitboards.column(from) + Bitboards.column(to));
+            gain = PieceType.PAWN.getValue();
+        } else if (b.getPiece(to) != null) {
+            gain = b.getPiece(to).getType().getValue();
+        }
+        int movedValue = moved.getType().getValue();
+        if (PackedMove.isPromotion(move)) {
+            gain += PackedMove.getPromotion(move).getValue() - PieceType.PAWN.getValue();
+            movedValue = PackedMove.getPromotion(move).getValue();
+        }
+
+        long attackers = attackersTo(b, to, occupied);
+        return gain - recapture(b, to, enemy, occupied, attackers, movedValue);
+    }
+
+    /**
+     * Checks if the given Move doesn't lose more material than the given margin, see evaluate.
+     *
+     * @param b         the current game board
+     * @param move      packed pseudo-legal Move of the side to move
+     * @param threshold the least material balance which is accepted, in centipawns
+     * @return true if the exchange started by the Move wins at least the threshold, else false
+     */
+    public static boolean isAtLeast(Board b, int move, int threshold) {
+        return evaluate(b, move) >= threshold;
+    }
+
+    /* Returns what the given side wins by capturing the piece of the given value on the square with its
+     * least valuable attacker and continuing the exchange, 0 if the side can't capture or had better not */
+    private static int recapture(Board b, int square, Color side, long occupied, long attackers, int victim) {
+        Color opponent = side.opposite();
+        long own = attackers & b.getOccupancy(side);
+        if (own == 0) {
+            return 0;
+        }
+
+        PieceType type = PieceType.PAWN;
+        long attacker = 0L;
+        //the types are ordered by their value, so the first one found is the least valuable attacker
+        for (int i = 0; i < PieceType.COUNT; i++) {
+            attacker = own & b.getBitboard(side, PieceType.of(i));
+            if (attacker != 0) {
+                type = PieceType.of(i);
+                break;
+            }
+        }
+        if (type == PieceType.KING && (attackers & b.getOccupancy(opponent)) != 0) {
+            //the King can't capture onto a defended square
+            return 0;
+        }
+
+        attacker &= -attacker;
+        occupied ^= attacker;
+        attackers = (attackers | sliders(b, square, occupied)) & occupied;
+        return Math.max(0, victim - recapture(b, square, opponent, occupied, attackers, type.getValue()));
+    }
+
+    /* Returns the sliders which attack the square given the occupancy, including those behind the squares
+     * the capturing pieces have left */
+    private static long sliders(Board b, int square, long occupied) {
+        long queens = pieces(b, PieceType.QUEEN);
+        return (Bitboards.bishopAttacks(square, occupied) & (pieces(b, PieceType.BISHOP) | queens))
+                | (Bitboards.rookAttacks(square, occupied) & (pieces(b, PieceType.ROOK) | queens));
+    }
+
+    /* Returns the pieces of both colors which attack the square, given the occupancy of the board */
+    private static long attackersTo(Board b, int square, long occupied) {
+        return (MoveGenerator.attackersTo(b, square, Color.WHITE, occupied)
+                | MoveGenerator.attackersTo(b, square, Color.BLACK, occupied)) & occupied;
+    }
+
+    private static long pieces(Board b, PieceType type) {
+        return b.getBitboard(Color.WHITE, type) | b.getBitboard(Color.BLACK, type);
+    }
+}
@@ -0,0 +1,88 @@
+package chessclient.gamelogic;
+
+/**
+ * TimeManager budgets the time of a single Move of an engine player from the time left on
+ * its ChessClock and from the game phase. The budget has two limits:
+ * <ul>
+ * <li>soft limit - the search doesn't start another iteration once it's unlikely to finish
+ * before the soft limit, and it stops sooner while its best Move stays the same</li>
+ * <li>hard limit - the search is aborted when the hard limit passes, and it plays the best
+ * Move of the last completed iteration</li>
+ * </ul>
+ * The remaining time is shared between the Moves which are still expected, more of them in
+ * the opening than in the endgame. A safety margin is never spent, and no Move may take more
+ * than a quarter of the remaining time, so the Move arrives well before the ChessClock runs
+ * out.
+ */
+public class TimeManager {
+
+    private static final long SAFETY_MARGIN = 100;   /* milliseconds for handing the Move over to the Game */
+    private static final int MIN_MOVES_TO_GO = 20;    /* Moves expected in an endgame without pieces */
+    private static final int MAX_MOVES_TO_GO = 40;    /* Moves expected in the opening */
+    private static final int HARD_LIMIT_FACTOR = 3;   /* how many soft limits the hard limit may take */
+    private static final int MAX_SHARE = 4;           /* the hard limit takes at most this share of the time */
+    private static final int MAX_PHASE = 24;          /* see Evaluation.getPhase */
+
+    private final long start;                         /* System.nanoTime when the Move started */
+    private final long softLimit;                     /* milliseconds */
+    private final long hardLimit;                     /* milliseconds */
+
+    /**
+     * Creates a budget of the Move which is starting now.
+     *
+     * @param remainingTime time left on the player's ChessClock in milliseconds
+     * @param phase         game phase of the position, see Evaluation.getPhase
+     * @param moveTimeLimit the longest time in milliseconds any Move may take
+     */
+    public TimeManager(long remainingTime, int phase, long moveTimeLimit) {
+        this.start = System.nanoTime();
+        long usable = Math.max(0, remainingTime - SAFETY_MARGIN);
+        int movesToGo = MIN_MOVES_TO_GO + (MAX_MOVES_TO_GO - MIN_MOVES_TO_GO) * Math.min(phase, MAX_PHASE) / MAX_PHASE;
+
+        long soft = usable / movesToGo;
+        long hard = Math.min(Math.min(soft * HARD_LIMIT_FACTOR, usable / MAX_SHARE), moveTimeLimit);
+        this.hardLimit = Math.max(0, hard);
+        this.softLimit = Math.min(soft, this.hardLimit);
+    }
+
+    /**
+     * Returns the value of System.nanoTime at which the search has to be aborted.
+     *
+     * @return the hard deadline
+     */
+    public long getHardDeadline() {
+        return this.start + this.hardLimit * 1_000_000;
+    }
+
+    /**
+     * Decides whether the next iteration of the search shouldn't be started. An iteration
+     * takes about as long as all the previous ones together, so no iteration is started
+     * after half of the soft limit. If the last iteration changed the best Move, the soft
+     * limit is doubled, up to the hard limit, as the Move is still uncertain.
+     *
+     * @param bestMoveChanged whether the last iteration found a different best Move
+     * @return true if the search should play its best Move now, else false
+     */
+    public boolean isSoftLimitReached(boolean bestMoveChanged) {
+        long limit = bestMoveChanged ? Math.min(2 * this.softLimit, this.hardLimit) : this.softLimit;
+        return System.nanoTime() - this.start >= limit * 1_000_000 / 2;
+    }
+
+    /**
+     * Returns the soft limit of the Move.
+     *
+     * @return soft limit in milliseconds
+     */
+    public long getSoftLimit() {
+        return this.softLimit;
+    }
+
+    /**
+     * Returns the hard limit of the Move.
+     *
+     * @return hard limit in milliseconds
+     */
+    public long getHardLimit() {
+        return this.hardLimit;
+    }
+}
@@ -0,0 +1,219 @@
+package chessclient.gamelogic;
+
+import java.util.Arrays;
+
+/**
+ * TranspositionTable remembers the results of searched positions by their Zobrist key (see
+ * Board.getZobristKey), so a position reached again by another order of Moves, or in the next
+ * iteration of the search, isn't searched again. Each entry is packed into a single long:
+ * <ul>
+ * <li>bits 0-15 - the best Move, see PackedMove</li>
+ * <li>bits 16-31 - the score, mate scores are stored relative to the position, see store</li>
+ * <li>bits 32-39 - the searched depth</li>
+ * <li>bits 40-41 - the bound, whether the score is exact, or a lower or an upper bound</li>
+ * <li>bits 42-49 - the generation of the search which stored the entry</li>
+ * </ul>
+ * The table has a fixed size and is divided into buckets of two slots. The first slot keeps
+ * the deepest entry of the current search, the second slot is always replaced, so the latest
+ * positions are found too. A slot holds the entry and the key XOR the entry, so the key can
+ * be verified without storing it separately. Threads sharing the table don't lock it, a slot
+ * written by two threads at once holds the key of neither entry, and it's treated as empty.
+ */
+public class TranspositionTable {
+
+    /** Size of the table in megabytes, if none is given */
+    public static final int DEFAULT_SIZE = 16;
+    /** Returned by probe when the position isn't in the table */
+    public static final long MISS = 0;
+
+    /** The score is exact, the position was searched within its window */
+    public static final int EXACT = 1;
+    /** The score is a lower bound, the search cut off above beta */
+    public static final int LOWER_BOUND = 2;
+    /** The score is an upper bound, no Move reached alpha */
+    public static final int UPPER_BOUND = 3;
+
+    private static final int SCORE_SHIFT = 16;
+    private static final int DEPTH_SHIFT = 32;
+    private static final int BOUND_SHIFT = 40;
+    private static final int GENERATION_SHIFT = 42;
+    private static final int MOVE_MASK = 0xFFFF;
+    private static final int DEPTH_MASK = 0xFF;
+    private static final int BOUND_MASK = 0x3;
+    private static final int GENERATION_MASK = 0xFF;
+
+    private static final int SLOT_LONGS = 2;                        /* the key XOR the entry, and the entry */
+    private static final int BUCKET_LONGS = 2 * SLOT_LONGS;         /* depth-preferred slot, always-replace slot */
+    private static final int BUCKET_BYTES = BUCKET_LONGS * Long.BYTES;
+
+    private final long[] slots;
+    private final int bucketMask;           /* number of buckets - 1, the number of buckets is a power of two */
+    private volatile int generation;
+
+    /**
+     * Creates an empty table of the given size.
+     *
+     * @param size size of the table in megabytes, at least 1
+     */
+    public TranspositionTable(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Size of the transposition table has to be at least 1 MB");
+        }
+        long buckets = Long.highestOneBit((long) size * 1024 * 1024 / BUCKET_BYTES);
+        //a Java array holds fewer than 2^31 longs
+        buckets = Math.min(buckets, Integer.highestOneBit(Integer.MAX_VALUE / BUCKET_LONGS));
+        this.slots = new long[(int) buckets * BUCKET_LONGS];
+        this.bucketMask = (int) buckets - 1;
+        this.generation = 0;
+    }
+
+    /**
+     * Starts a new search, entries of the previous searches are kept, but they're replaced
+     * before the entries of the new search.
+     */
+    public void newSearch() {
+        this.generation = (this.generation + 1) & GENERATION_MASK;
+    }
+
+    /**
+     * Removes all entries from the table.
+     */
+    public void clear() {
+        Arrays.fill(this.slots, 0);
+    }
+
+    /**
+     * Looks the position up in the table.
+     *
+     * @param key Zobrist key of the position
+     * @return the packed entry of the position, MISS if the table doesn't hold it
+     */
+    public long probe(long key) {
+        int bucket = this.getBucket(key);
+        for (int slot = bucket; slot < bucket + BUCKET_LONGS; slot += SLOT_LONGS) {
+            long entry = this.getEntry(slot, key);
+            if (entry != MISS) {
+                return entry;
+            }
+        }
+        return MISS;
+    }
+
+    /**
+     * Stores the result of a searched position. Mate scores count the plies from the root of
+     * the search, they're stored counting the plies from the position instead, so that they
+     * stay right when the position is reached at another ply.
+     *
+     * @param key   Zobrist key of the position
+     * @param move  best packed Move of the position, PackedMove.NONE if it isn't known
+     * @param score score of the position
+     * @param depth searched depth, 0 for the quiescence search
+     * @param bound EXACT, LOWER_BOUND or UPPER_BOUND
+     * @param ply   number of plies between the root of the search and the position
+     */
+    public void store(long key, int move, int score, int depth, int bound, int ply) {
+        int bucket = this.getBucket(key);
+        int preferred = bucket;
+        int always = bucket + SLOT_LONGS;
+
+        int slot;
+        long old = this.getEntry(always, key);
+        if (old != MISS) {
+            slot = always;
+        } else {
+            old = this.getEntry(preferred, key);
+            long deepest = old != MISS ? old : this.slots[preferred + 1];
+            //the deepest entry of the current search is only replaced by a deeper or the same position
+            slot = old != MISS || deepest == MISS || getGeneration(deepest) != this.generation
+                    || depth >= getDepth(deepest) ? preferred : always;
+        }
+        if (move == PackedMove.NONE && old != MISS) {
+            //an upper bound doesn't know its best Move, the Move of the older entry is still the best guess
+            move = getMove(old);
+        }
+
+        long entry = (move & MOVE_MASK)
+                | (toStoredScore(score, ply) & 0xFFFFL) << SCORE_SHIFT
+                | (long) (Math.max(depth, 0) & DEPTH_MASK) << DEPTH_SHIFT
+                | (long) bound << BOUND_SHIFT
+                | (long) this.generation << GENERATION_SHIFT;
+        this.slots[slot] = key ^ entry;
+        this.slots[slot + 1] = entry;
+    }
+
+    /**
+     * Returns the best Move of the entry.
+     *
+     * @param entry packed entry returned by probe
+     * @return packed Move, PackedMove.NONE if the entry doesn't know it
+     */
+    public static int getMove(long entry) {
+        return (int) entry & MOVE_MASK;
+    }
+
+    /**
+     * Returns the score of the entry, with mate scores counting the plies from the root of
+     * the search again.
+     *
+     * @param entry packed entry returned by probe
+     * @param ply   number of plies between the root of the search and the position
+     * @return score of the position
+     */
+    public static int getScore(long entry, int ply) {
+        int score = (short) (entry >>> SCORE_SHIFT);
+        if (score >= Search.MATE - Search.MAX_PLY) {
+            return score - ply;
+        }
+        if (score <= -Search.MATE + Search.MAX_PLY) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    /**
+     * Returns the searched depth of the entry.
+     *
+     * @param entry packed entry returned by probe
+     * @return depth in plies
+     */
+    public static int getDepth(long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & DEPTH_MASK;
+    }
+
+    /**
+     * Returns the bound of the entry's score.
+     *
+     * @param entry packed entry returned by probe
+     * @return EXACT, LOWER_BOUND or UPPER_BOUND
+     */
+    public static int getBound(long entry) {
+        return (int) (entry >>> BOUND_SHIFT) & BOUND_MASK;
+    }
+
+    private static int getGeneration(long entry) {
+        return (int) (entry >>> GENERATION_SHIFT) & GENERATION_MASK;
+    }
+
+    private static int toStoredScore(int score, int ply) {
+        if (score >= Search.MATE - Search.MAX_PLY) {
+            return score + ply;
+        }
+        if (score <= -Search.MATE + Search.MAX_PLY) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    /* Returns index of the first long of the key's bucket */
+    private int getBucket(long key) {
+        //the lowest bits of the key pick the bucket, the verification uses the whole key
+        return ((int) key & this.bucketMask) * BUCKET_LONGS;
+    }
+
+    /* Returns the entry of the slot if it belongs to the key, else MISS. A torn or a foreign entry doesn't
+     * match the key, and the entry is read only once, so another thread can't replace it after the check */
+    private long getEntry(int slot, long key) {
+        long entry = this.slots[slot + 1];
+        return entry != MISS && (this.slots[slot] ^ entry) == key ? entry : MISS;
+    }
+}
@@ -0,0 +1,93 @@
+package chessclient.gamelogic;
+
+import chessclient.pieces.Color;
+import chessclient.pieces.PieceType;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist holds the random 64 bit keys from which the Board builds the Zobrist key of its
+ * position. The key of a position is the XOR of the keys of every piece on its square, the
+ * side to move, the castling rights and the file of the en passant square, so it can be
+ * updated incrementally when a Move is played. The keys are generated from a fixed seed, so
+ * they're the same in every run of the application.
+ */
+public final class Zobrist {
+
+    private static final long SEED = 0x5EED_C4E5_5B0A_4D17L;
+
+    private static final long[][][] PIECE_KEYS = new long[Color.COUNT][PieceType.COUNT][64];
+    private static final long[] CASTLING_KEYS = new long[16];
+    private static final long[] EN_PASSANT_KEYS = new long[Board.BOARD_WIDTH];
+    private static final long BLACK_TO_MOVE_KEY;
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (long[][] colorKeys : PIECE_KEYS) {
+            for (long[] typeKeys : colorKeys) {
+                for (int i = 0; i < typeKeys.length; i++) {
+                    typeKeys[i] = random.nextLong();
+                }
+            }
+        }
+        //each castling right has its own key, keys of sets of rights are their XOR
+        long[] rightKeys = {random.nextLong(), random.nextLong(), random.nextLong(), random.nextLong()};
+        for (int rights = 0; rights < CASTLING_KEYS.length; rights++) {
+            for (int i = 0; i < rightKeys.length; i++) {
+                if ((rights & (1 << i)) != 0) {
+                    CASTLING_KEYS[rights] ^= rightKeys[i];
+                }
+            }
+        }
+        for (int i = 0; i < EN_PASSANT_KEYS.length; i++) {
+            EN_PASSANT_KEYS[i] = random.nextLong();
+        }
+        BLACK_TO_MOVE_KEY = random.nextLong();
+    }
+
+    private Zobrist() {
+
+    }
+
+    /**
+     * Returns key of the piece of the given color and type on the given square.
+     *
+     * @param color  color of the piece
+     * @param type   type of the piece
+     * @param square index of the square
+     * @return Zobrist key of the piece
+     */
+    public static long pieceKey(Color color, PieceType type, int square) {
+        return PIECE_KEYS[color.ordinal()][type.ordinal()][square];
+    }
+
+    /**
+     * Returns key of the given set of castling rights.
+     *
+     * @param castlingRights castling rights as a bitmask, see Board
+     * @return Zobrist key of the castling rights
+     */
+    public static long castlingKey(int castlingRights) {
+        return CASTLING_KEYS[castlingRights];
+    }
+
+    /**
+     * Returns key of the en passant square, only the file of the square is hashed.
+     *
+     * @param square index of the en passant square, -1 if there is none
+     * @return Zobrist key of the en passant square, 0 if there is none
+     */
+    public static long enPassantKey(int square) {
+        return square < 0 ? 0L : EN_PASSANT_KEYS[Bitboards.column(square)];
+    }
+
+    /**
+     * Returns key of the side to move, only black to move is hashed.
+     *
+     * @param sideToMove color of the player to move
+     * @return Zobrist key of the side to move
+     */
+    public static long sideKey(Color sideToMove) {
+        return sideToMove.equals(Color.BLACK) ? BLACK_TO_MOVE_KEY : 0L;
+    }
+}
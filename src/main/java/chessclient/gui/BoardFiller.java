@@ -1,6 +1,6 @@
 package chessclient.gui;
 
-import chessclient.gamelogic.Board;
+import chessclient.gamelogic.BoardRepresentation;
 import chessclient.pieces.Color;
 import chessclient.pieces.Piece;
 import javafx.scene.image.Image;
@@ -13,9 +13,9 @@ import javafx.scene.image.ImageView;
  */
 
 public class BoardFiller {
-    private final Board board;
+    private final BoardRepresentation board;
 
-    public BoardFiller(Board board) {
+    public BoardFiller(BoardRepresentation board) {
         this.board = board;
     }
 
@@ -3,10 +3,10 @@ package chessclient.gui;
 import chessclient.gamelogic.*;
 import chessclient.network.ChessClient;
 import chessclient.pieces.Piece;
+import chessclient.players.EngineAI;
 import chessclient.players.GUIPlayer;
 import chessclient.players.NetworkPlayer;
 import chessclient.players.Player;
-import chessclient.players.RandomAI;
 import chessclient.utilities.GameSave;
 import javafx.application.Platform;
 import javafx.beans.property.SimpleStringProperty;
@@ -53,7 +53,7 @@ public class ChessSceneGenerator implements SceneGenerator {
     private int[] selectedPiece;             /*piece that is going to be moved*/
 
     private boolean lookingForMove;          /*true after selecting piece*/
-    private final Board chessBoard;
+    private final BoardRepresentation chessBoard;
     private BoardFiller boardFiller;
 
     private Player whitePlayer;
@@ -73,7 +73,7 @@ public class ChessSceneGenerator implements SceneGenerator {
      * @param type        type of the game - enum
      * @param board       already initialized board
      */
-    public ChessSceneGenerator(ChessClient client, cz.cvut.fel.pjv.chessclient.pieces.Color colorPlayer, TypeOfGame type, Board board) {
+    public ChessSceneGenerator(ChessClient client, cz.cvut.fel.pjv.chessclient.pieces.Color colorPlayer, TypeOfGame type, BoardRepresentation board) {
         this.client = client;
         this.color = colorPlayer;      /*always white in local game and with AI*/
         this.type = type;
@@ -93,7 +93,7 @@ public class ChessSceneGenerator implements SceneGenerator {
     private void gameSettings() {
         if (type.equals(TypeOfGame.AI)) {
             this.whitePlayer = new GUIPlayer(cz.cvut.fel.pjv.chessclient.pieces.Color.WHITE);
-            this.blackPlayer = new RandomAI(chessBoard, cz.cvut.fel.pjv.chessclient.pieces.Color.BLACK);
+            this.blackPlayer = new EngineAI(chessBoard, cz.cvut.fel.pjv.chessclient.pieces.Color.BLACK);
             this.game = new Game(whitePlayer, blackPlayer, this, chessBoard, this.whiteOnTurn);
             networkPlayerIsPlaying = false;
         }
@@ -269,7 +269,7 @@ public class ChessSceneGenerator implements SceneGenerator {
                             selectedPiece[1] = y;
                             rectangles[x][y].setStroke(Color.BLACK);
                             imageViews[x][y].setOpacity(0.6);
-                            moveList = piece.getValidMoves(chessBoard);
+                            moveList = piece.getValidMoves(chessBoard, Bitboards.toSquare(y, x));
 
                             for (Move m : moveList) {
                                 int[] to = m.getTo();
@@ -1,6 +1,6 @@
 package chessclient.gui;
 
-import chessclient.gamelogic.Board;
+import chessclient.gamelogic.BoardRepresentation;
 import chessclient.pieces.*;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
@@ -31,7 +31,7 @@ public class SimulationBorderPane {
      * @return boarderPane with 2D array of images of pieces
      */
 
-    public BorderPane generatePane(Board chessBoard) {
+    public BorderPane generatePane(BoardRepresentation chessBoard) {
         BorderPane borderPane = new BorderPane();
         GridPane board = new GridPane();
         board.getRowConstraints().add(new RowConstraints(35));
@@ -208,30 +208,29 @@ public class SimulationBorderPane {
         return (!(x < 435) && !(y < 35)) && (!(x > 635) && !(y > 435));
     }
 
-    private void addToChessBoard(Board chessboard, int x, int y, int posX, int posY) {
+    private void addToChessBoard(BoardRepresentation chessboard, int x, int y, int posX, int posY) {
         cz.cvut.fel.pjv.chessclient.pieces.Color color;
         if (x == 0 || x == 1) {
             color = cz.cvut.fel.pjv.chessclient.pieces.Color.BLACK;
         } else {
             color = cz.cvut.fel.pjv.chessclient.pieces.Color.WHITE;
         }
-        int[] position = {posY, posX};
-        Piece piece;
+        PieceType type;
 
         if (x == 1 || x == 3) {
-            piece = new Pawn(position, color);
+            type = PieceType.PAWN;
         } else if (y == 0 || y == 1) {
-            piece = new Rook(position, color);
+            type = PieceType.ROOK;
         } else if (y == 2 || y == 3) {
-            piece = new Knight(position, color);
+            type = PieceType.KNIGHT;
         } else if (y == 4 || y == 5) {
-            piece = new Bishop(position, color);
+            type = PieceType.BISHOP;
         } else if (y == 6) {
-            piece = new King(position, color);
+            type = PieceType.KING;
         } else {
-            piece = new Queen(position, color);
+            type = PieceType.QUEEN;
         }
-        chessboard.addPieceToBoard(posY, posX, piece);
+        chessboard.addPieceToBoard(posY, posX, Piece.of(type, color));
 
     }
     
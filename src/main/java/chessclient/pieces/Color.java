@@ -7,6 +7,30 @@ public enum Color {
     BLACK,
     WHITE;
 
+    /** Number of the colors */
+    public static final int COUNT = 2;
+
+    private static final Color[] COLORS = values();
+
+    /**
+     * Returns the color with the given ordinal, without copying the array of values.
+     *
+     * @param ordinal ordinal of the color, 0 for BLACK and 1 for WHITE
+     * @return the Color with the ordinal
+     */
+    public static Color of(int ordinal) {
+        return COLORS[ordinal];
+    }
+
+    /**
+     * Returns the color of the opponent.
+     *
+     * @return WHITE for BLACK, BLACK for WHITE
+     */
+    public Color opposite() {
+        return this == WHITE ? BLACK : WHITE;
+    }
+
     /**
      * Returns String representation for the enum options
      *
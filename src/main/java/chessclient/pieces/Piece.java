@@ -1,78 +1,71 @@
 package chessclient.pieces;
 
-import chessclient.gamelogic.Board;
+import chessclient.gamelogic.BoardRepresentation;
 import chessclient.gamelogic.Move;
-import chessclient.gamelogic.Ruleset;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Piece is the parent class for the classes representing individual chess pieces. It also
- * defines basic behavior of these classes.
+ * defines basic behavior of these classes. Pieces are immutable, there is a single shared
+ * Piece of every type and color, which is obtained by the of method. Everything that changes
+ * during the game, the position of a Piece and whether it can still castle, is kept by the
+ * Board, so the methods of a Piece are given the square it stands on (see Bitboards).
+ * The movement logic of all the pieces is implemented by MoveGenerator.
  */
 public abstract class Piece {
 
-    protected int[] pos;
-    protected Color clr;
-    protected int[][] moveDirections;
+    /* The shared Pieces, indexed by Color and PieceType ordinals */
+    private static final Piece[][] PIECES = new Piece[Color.COUNT][];
+
+    static {
+        for (Color color : Color.values()) {
+            PIECES[color.ordinal()] = new Piece[]{new Pawn(color), new Knight(color), new Bishop(color),
+                    new Rook(color), new Queen(color), new King(color)};
+        }
+    }
+
+    protected final Color clr;
 
     /**
-     * Creates a new Piece on the initial position on the game board, and of the given color
+     * Creates the Piece of the given color, only used to create the shared Pieces.
      *
-     * @param initPos indices in the game board which represent the initial position of the piece
-     *                on the board
-     * @param clr     Color enum representing the color of the piece
+     * @param clr Color enum representing the color of the piece
      */
-    public Piece(int[] initPos, Color clr) {
-        this.pos = initPos;
+    protected Piece(Color clr) {
         this.clr = clr;
     }
 
     /**
-     * Creates a new object with the same attributes and the same class as the given Piece.
+     * Returns the shared Piece of the given type and color.
      *
-     * @return copy of the given Piece.
+     * @param type  type of the Piece
+     * @param color color of the Piece
+     * @return the Piece of the given type and color
      */
-    public abstract Piece copyPiece();
+    public static Piece of(PieceType type, Color color) {
+        return PIECES[color.ordinal()][type.ordinal()];
+    }
 
     /**
-     * Returns a list of the possible moves of the given piece which respect the piece's movement
-     * logic, but not the validity in the terms of the move resulting in the king of the same color
-     * being checked.
+     * Returns the type of this Piece, which determines the bitboard the Piece is stored in.
      *
-     * @param b Board, on which the Piece is placed
-     * @return List of Moves which the Piece could make given its movement logic
+     * @return PieceType of the Piece
      */
-    public abstract List<Move> getPossibleMoves(Board b);
+    public abstract PieceType getType();
 
     /**
      * Returns a list of valid moves the given piece can make with regards to the piece's
      * movement logic, and with regards to the move resulting in the king of the same color
      * being checked.
      *
-     * @param b Board, on which the Piece is placed
+     * @param b      Board, on which the Piece is placed
+     * @param square index of the square the Piece stands on
      * @return List of Moves which the Piece could make given its movement logic, and which
      * do not result in the king of the same color being checked
      */
-    public List<Move> getValidMoves(Board b) {
-        ArrayList<Move> possMoves = new ArrayList<>(getPossibleMoves(b));
-        ArrayList<Move> validMoves = new ArrayList<>();
-        for (Move m : possMoves) {
-            if (Ruleset.isValidMove(b, m)) {
-                validMoves.add(m);
-            }
-        }
-        return validMoves;
-    }
-
-    /**
-     * Changes the current position of the Piece to its new position on the game board.
-     *
-     * @param newPos new indices which represent the Piece's new position on the game board
-     */
-    public void updatePosition(int[] newPos) {
-        this.pos = newPos;
+    public List<Move> getValidMoves(BoardRepresentation b, int square) {
+        return b.getLegalMoves(square);
     }
 
     /**
@@ -83,13 +76,4 @@ public abstract class Piece {
     public Color getColor() {
         return this.clr;
     }
-
-    /**
-     * return this Piece's position
-     *
-     * @return indices into the game board, on which the piece is currently placed
-     */
-    public int[] getPosition() {
-        return pos;
-    }
 }
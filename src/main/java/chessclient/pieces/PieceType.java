@@ -0,0 +1,46 @@
+package chessclient.pieces;
+
+/**
+ * Enum PieceType represents the six types of chess pieces. Ordinal of each type is used
+ * as an index into the bitboards stored by the Board class.
+ */
+public enum PieceType {
+    PAWN(100),
+    KNIGHT(320),
+    BISHOP(330),
+    ROOK(500),
+    QUEEN(900),
+    KING(20000);
+
+    /** Number of the piece types */
+    public static final int COUNT = 6;
+
+    private static final PieceType[] TYPES = values();
+
+    private final int value;
+
+    PieceType(int value) {
+        this.value = value;
+    }
+
+    /**
+     * Returns material value of the pieces of this type in centipawns, the value of a pawn
+     * being 100. The King is worth more than all the other pieces together, as losing it
+     * loses the game.
+     *
+     * @return material value of the piece type
+     */
+    public int getValue() {
+        return this.value;
+    }
+
+    /**
+     * Returns the piece type with the given ordinal, without copying the array of values.
+     *
+     * @param ordinal ordinal of the type, from 0 for PAWN to COUNT - 1 for KING
+     * @return the PieceType with the ordinal
+     */
+    public static PieceType of(int ordinal) {
+        return TYPES[ordinal];
+    }
+}
@@ -0,0 +1,185 @@
+package chessclient.players;
+
+import chessclient.gamelogic.*;
+import chessclient.network.Turn;
+import chessclient.pieces.Color;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * EngineAI class represents an artificial intelligence which searches for the best Move
+ * by an alpha-beta search (see Search) on a copy of the game board. The time of every Move
+ * is budgeted by a TimeManager from the time left on the player's ChessClock, and the best
+ * Move of the deepest completed iteration is played. The transposition table is kept for the
+ * whole game, so the positions searched for the previous Moves aren't searched again, and
+ * it's shared by the threads of the search. The threads search the whole tree each (see
+ * ParallelSearch), or split it between them (see ForkJoinSearch), as set by the SearchMode.
+ * The search runs on its own thread, so the Game keeps updating the clocks meanwhile, and
+ * the Turn is available once hasTurn returns true. EngineAI is controlled exclusively via
+ * the Player interface.
+ */
+public class EngineAI implements Player {
+
+    /** The longest a Move takes by default, so that the player doesn't wait for minutes */
+    public static final long DEFAULT_MOVE_TIME_LIMIT = 10000;   /* milliseconds */
+    /** The search runs on every core by default */
+    public static final int DEFAULT_THREADS = Runtime.getRuntime().availableProcessors();
+
+    /* ForkJoinPools of the FORK_JOIN searches by their number of threads, they're shared by all the
+     * engines, so no pool is left behind when a game ends */
+    private static final Map<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<>();
+
+    private final BoardRepresentation board;
+    private final Color color;
+    private final long moveTimeLimit;
+    private final TranspositionTable table;
+    private final int threads;
+    private final SearchMode searchMode;
+    private ChessClock clock;
+    private volatile Turn turn;
+
+    /**
+     * Creates a new EngineAI player with the given board and color, which takes at most
+     * DEFAULT_MOVE_TIME_LIMIT per Move, has a transposition table of the default size and
+     * searches on DEFAULT_THREADS threads.
+     *
+     * @param board the game board
+     * @param color player's color
+     */
+    public EngineAI(BoardRepresentation board, Color color) {
+        this(board, color, DEFAULT_MOVE_TIME_LIMIT);
+    }
+
+    /**
+     * Creates a new EngineAI player with the given board and color, which has
+     * a transposition table of the default size and searches on DEFAULT_THREADS threads.
+     *
+     * @param board         the game board
+     * @param color         player's color
+     * @param moveTimeLimit the longest time in milliseconds a Move may take
+     */
+    public EngineAI(BoardRepresentation board, Color color, long moveTimeLimit) {
+        this(board, color, moveTimeLimit, TranspositionTable.DEFAULT_SIZE);
+    }
+
+    /**
+     * Creates a new EngineAI player with the given board and color, which searches on
+     * DEFAULT_THREADS threads.
+     *
+     * @param board         the game board
+     * @param color         player's color
+     * @param moveTimeLimit the longest time in milliseconds a Move may take
+     * @param hashSize      size of the transposition table in megabytes
+     */
+    public EngineAI(BoardRepresentation board, Color color, long moveTimeLimit, int hashSize) {
+        this(board, color, moveTimeLimit, hashSize, DEFAULT_THREADS);
+    }
+
+    /**
+     * Creates a new EngineAI player with the given board and color, whose threads all search
+     * the whole tree (see SearchMode.SHARED_HASH).
+     *
+     * @param board         the game board
+     * @param color         player's color
+     * @param moveTimeLimit the longest time in milliseconds a Move may take
+     * @param hashSize      size of the transposition table in megabytes
+     * @param threads       number of threads searching each Move, at least 1
+     */
+    public EngineAI(BoardRepresentation board, Color color, long moveTimeLimit, int hashSize, int threads) {
+        this(board, color, moveTimeLimit, hashSize, threads, SearchMode.SHARED_HASH);
+    }
+
+    /**
+     * Creates a new EngineAI player with the given board and color.
+     *
+     * @param board         the game board
+     * @param color         player's color
+     * @param moveTimeLimit the longest time in milliseconds a Move may take
+     * @param hashSize      size of the transposition table in megabytes
+     * @param threads       number of threads searching each Move, at least 1
+     * @param searchMode    how the search of every Move is spread over the threads
+     */
+    public EngineAI(BoardRepresentation board, Color color, long moveTimeLimit, int hashSize, int threads,
+                    SearchMode searchMode) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("The engine needs at least one search thread");
+        }
+        this.board = board;
+        this.color = color;
+        this.moveTimeLimit = moveTimeLimit;
+        this.table = new TranspositionTable(hashSize);
+        this.threads = threads;
+        this.searchMode = searchMode;
+        this.clock = null;
+        this.turn = null;
+    }
+
+    @Override
+    public void play(Turn opponentTurn) {
+        this.clock.update();
+        this.turn = null;
+        //the clock is copied on this thread, as the Game keeps updating it while the search runs
+        ChessClock turnClock = new ChessClock();
+        turnClock.synchronize(this.clock);
+        long remainingTime = turnClock.getRemainingTime();
+        //the board is copied before play returns, as the Game changes it once the Turn is played
+        Board position = toBoard(this.board);
+        TimeManager timeManager = new TimeManager(remainingTime, Evaluation.getPhase(position), this.moveTimeLimit);
+
+        Thread search = new Thread(() -> this.search(position, timeManager, turnClock), "EngineAI search");
+        search.setDaemon(true);
+        search.start();
+    }
+
+    /* Searches the position on the search thread, and hands the best Move over as the Turn with the copy
+     * of the clock, which has been running since play was called */
+    private void search(Board position, TimeManager timeManager, ChessClock turnClock) {
+        int move;
+        if (this.searchMode == SearchMode.FORK_JOIN) {
+            ForkJoinPool pool = POOLS.computeIfAbsent(this.threads, ForkJoinPool::new);
+            move = new ForkJoinSearch(position, this.table, pool).search(Search.MAX_PLY, timeManager);
+        } else {
+            move = new ParallelSearch(position, this.table, this.threads).search(Search.MAX_PLY, timeManager);
+        }
+        Move m = move == PackedMove.NONE ? null : PackedMove.toMove(move);
+
+        //pausing the copy takes the time of the search off it
+        turnClock.pause();
+        this.turn = new Turn(m, turnClock);
+    }
+
+    /* Copies the game board into a Board, which the search can play its Moves on */
+    private static Board toBoard(BoardRepresentation b) {
+        if (b instanceof Board) {
+            return new Board((Board) b);
+        }
+        Board board = new Board(b.getCurrentBoard());
+        board.setSideToMove(b.getSideToMove());
+        board.setCastlingRights(b.getCastlingRights());
+        board.setEnPassantSquare(b.getEnPassantSquare());
+        board.setHalfmoveClock(b.getHalfmoveClock());
+        return board;
+    }
+
+    @Override
+    public boolean hasTurn() {
+        return this.turn != null;
+    }
+
+    @Override
+    public Color getColor() {
+        return this.color;
+    }
+
+    @Override
+    public Turn getTurn() {
+        return this.turn;
+    }
+
+    @Override
+    public void setChessClock(ChessClock clock) {
+        this.clock = clock;
+    }
+}
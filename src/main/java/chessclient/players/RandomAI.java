@@ -15,7 +15,7 @@ import java.util.Random;
  */
 public class RandomAI implements Player {
 
-    private final Board board;
+    private final BoardRepresentation board;
     private final Color color;
     private ChessClock clock;
     private Turn turn;
@@ -26,7 +26,7 @@ public class RandomAI implements Player {
      * @param board the game board
      * @param color player's color
      */
-    public RandomAI(Board board, Color color) {
+    public RandomAI(BoardRepresentation board, Color color) {
         this.board = board;
         this.color = color;
         this.clock = null;
@@ -1,6 +1,8 @@
 package chessclient.utilities;
 
+import chessclient.gamelogic.Bitboards;
 import chessclient.gamelogic.Board;
+import chessclient.gamelogic.BoardRepresentation;
 import chessclient.gamelogic.ChessClock;
 import chessclient.pieces.*;
 
@@ -33,7 +35,7 @@ public class GameSave {
      * @param b          the current Board
      * @param turn       String which identifies player whose turn it is
      */
-    public GameSave(ChessClock whiteClock, ChessClock blackClock, Board b, String turn) {
+    public GameSave(ChessClock whiteClock, ChessClock blackClock, BoardRepresentation b, String turn) {
         this.whiteClock = whiteClock;
         this.blackClock = blackClock;
         this.serializedBoard = this.serializeBoard(b);
@@ -41,8 +43,9 @@ public class GameSave {
     }
 
     /* Creates a two dimensional array of Strings, in which each String at given indices represents
-     * a Piece at the same indices on the game board */
-    private String[][] serializeBoard(Board b) {
+     * a Piece at the same indices on the game board. The castling rights and the en passant square
+     * of the Board are saved as the attributes of the Kings, Rooks and Pawns they belong to */
+    private String[][] serializeBoard(BoardRepresentation b) {
         String[][] serializedBoard = new String[Board.BOARD_HEIGHT][Board.BOARD_WIDTH];
         Piece[][] pieces = b.getCurrentBoard();
         for (int i = 0; i < Board.BOARD_HEIGHT; i++) {
@@ -50,27 +53,39 @@ public class GameSave {
                 if (pieces[i][j] == null) {
                     serializedBoard[i][j] = null;
                 } else {
-                    serializedBoard[i][j] = this.serializePiece(pieces[i][j]);
+                    serializedBoard[i][j] = this.serializePiece(pieces[i][j], Bitboards.toSquare(i, j), b);
                 }
             }
         }
         return serializedBoard;
     }
 
-    /* Creates a String representation of the given Piece and it's attributes */
-    private String serializePiece(Piece p) {
+    /* Creates a String representation of the given Piece on the given square and it's attributes */
+    private String serializePiece(Piece p, int square, BoardRepresentation b) {
+        boolean white = p.getColor().equals(Color.WHITE);
+        int homeRow = white ? Board.BOARD_HEIGHT - 1 : 0;
+        int kingside = white ? Board.WHITE_KINGSIDE : Board.BLACK_KINGSIDE;
+        int queenside = white ? Board.WHITE_QUEENSIDE : Board.BLACK_QUEENSIDE;
+        int rights = b.getCastlingRights();
         switch (p.toString()) {
             case "king": {
-                String hasMoved = ((King) p).hasMoved() ? "t" : "f";
+                //a King which can't castle anymore is saved as moved
+                String hasMoved = (rights & (kingside | queenside)) == 0 ? "t" : "f";
                 return p.getColor().toString() + hasMoved + p.toString();
             }
             case "rook": {
-                String hasMoved = ((Rook) p).hasMoved() ? "t" : "f";
+                boolean canCastle = (square == Bitboards.toSquare(homeRow, 0) && (rights & queenside) != 0)
+                        || (square == Bitboards.toSquare(homeRow, Board.BOARD_WIDTH - 1) && (rights & kingside) != 0);
+                String hasMoved = canCastle ? "f" : "t";
                 return p.getColor().toString() + hasMoved + p.toString();
             }
             case "pawn": {
-                String hasMoved = ((Pawn) p).hasMoved() ? "t" : "f";
-                String movedTwo = ((Pawn) p).hasMovedTwo() ? "t" : "f";
+                //a Pawn which has left its starting row is saved as moved
+                int startRow = white ? Board.BOARD_HEIGHT - 2 : 1;
+                String hasMoved = Bitboards.row(square) != startRow ? "t" : "f";
+                //the Pawn which can be taken by en passant stands in front of the en passant square
+                int behind = square + (white ? Board.BOARD_WIDTH : -Board.BOARD_WIDTH);
+                String movedTwo = b.getEnPassantSquare() == behind ? "t" : "f";
                 return p.getColor().toString() + hasMoved + movedTwo + p.toString();
             }
             default:
@@ -85,33 +100,55 @@ public class GameSave {
      */
     public Board deserializeBoard() {
         Piece[][] pieces = new Piece[Board.BOARD_HEIGHT][Board.BOARD_WIDTH];
+        int enPassant = -1;
+        int lostRights = 0;
         for (int i = 0; i < Board.BOARD_HEIGHT; i++) {
             for (int j = 0; j < Board.BOARD_WIDTH; j++) {
-                if (this.serializedBoard[i][j] == null) {
+                String s = this.serializedBoard[i][j];
+                if (s == null) {
                     pieces[i][j] = null;
                 } else {
-                    pieces[i][j] = this.deserializePiece(this.serializedBoard[i][j], i, j);
+                    pieces[i][j] = this.deserializePiece(s);
+                    if (s.endsWith("pawn") && s.charAt(2) == 't') {
+                        //the en passant square is behind the Pawn which has just moved two squares
+                        enPassant = Bitboards.toSquare(s.charAt(0) == 'w' ? i + 1 : i - 1, j);
+                    }
+                    if ((s.endsWith("king") || s.endsWith("rook")) && s.charAt(1) == 't') {
+                        lostRights |= this.getLostCastlingRights(s, j);
+                    }
                 }
             }
         }
-        return new Board(pieces);
+        //the castling rights are derived from the Kings and Rooks on their initial squares,
+        //without the castles of the saved Kings and Rooks which have moved
+        Board b = new Board(pieces);
+        b.setCastlingRights(b.getCastlingRights() & ~lostRights);
+        b.setEnPassantSquare(enPassant);
+        b.setSideToMove(this.turnColor());
+        return b;
+    }
+
+    /* Returns the castling rights lost by the saved King or Rook in the given column, which has moved */
+    private int getLostCastlingRights(String s, int col) {
+        boolean white = s.charAt(0) == 'w';
+        int kingside = white ? Board.WHITE_KINGSIDE : Board.BLACK_KINGSIDE;
+        int queenside = white ? Board.WHITE_QUEENSIDE : Board.BLACK_QUEENSIDE;
+        if (s.endsWith("king")) {
+            return kingside | queenside;
+        }
+        return col == 0 ? queenside : col == Board.BOARD_WIDTH - 1 ? kingside : 0;
     }
 
     /* Reconstructs a Piece from its serialized state */
-    private Piece deserializePiece(String s, int row, int col) {
+    private Piece deserializePiece(String s) {
         if (s == null) {
             return null;
         }
 
         Color color = s.charAt(0) == 'w' ? Color.WHITE : Color.BLACK;
-        boolean hasMoved = true;
-        boolean movedTwo = true;
         if (s.contains("king") || s.contains("rook")) {
-            hasMoved = s.charAt(1) == 't';
             s = s.substring(2);
         } else if (s.contains("pawn")) {
-            hasMoved = s.charAt(1) == 't';
-            movedTwo = s.charAt(2) == 't';
             s = s.substring(3);
         } else {
             s = s.substring(1);
@@ -119,17 +156,17 @@ public class GameSave {
 
         switch (s) {
             case "king":
-                return new King(new int[]{row, col}, color, hasMoved);
+                return Piece.of(PieceType.KING, color);
             case "queen":
-                return new Queen(new int[]{row, col}, color);
+                return Piece.of(PieceType.QUEEN, color);
             case "knight":
-                return new Knight(new int[]{row, col}, color);
+                return Piece.of(PieceType.KNIGHT, color);
             case "rook":
-                return new Rook(new int[]{row, col}, color, hasMoved);
+                return Piece.of(PieceType.ROOK, color);
             case "bishop":
-                return new Bishop(new int[]{row, col}, color);
+                return Piece.of(PieceType.BISHOP, color);
             case "pawn":
-                return new Pawn(new int[]{row, col}, color, hasMoved, movedTwo);
+                return Piece.of(PieceType.PAWN, color);
             default:
                 return null;
         }
@@ -0,0 +1,130 @@
+package chessclient.gamelogic;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares the perft counts of well known positions with their reference values, which
+ * verifies the move generator, the staged generation of MovePicker, Board0x88 and the
+ * make/unmake of Moves, and checks that counting allocates nothing once warmed up.
+ */
+public class PerftTest {
+
+    private static final int MAX_DEPTH = 4;     /* deeper counts take too long for every build */
+    private static final int ALLOCATION_COUNTS = 3;
+    private static final int[] NO_KILLERS = new int[0];
+
+    /* Name, FEN and node counts from depth 1 upwards of the reference positions */
+    private static final String[][] REFERENCE_POSITIONS = {
+            {"start position", "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+                    "20 400 8902 197281"},
+            {"kiwipete", "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                    "48 2039 97862 4085603"},
+            {"en passant and pins", "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                    "14 191 2812 43238"},
+            {"promotions and castling", "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+                    "6 264 9467 422333"},
+            {"promotion by capture", "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+                    "44 1486 62379 2103487"},
+            {"symmetrical middlegame", "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+                    "46 2079 89890 3894594"},
+    };
+
+    @Test
+    public void countsReferencePositions() {
+        for (String[] position : REFERENCE_POSITIONS) {
+            String[] expected = position[2].split(" ");
+            Perft perft = new Perft(new BoardInitializer().initializeFromFen(position[1]), MAX_DEPTH);
+            for (int depth = 1; depth <= MAX_DEPTH; depth++) {
+                assertEquals(Long.parseLong(expected[depth - 1]), perft.perft(depth),
+                        position[0] + ", depth " + depth);
+            }
+        }
+    }
+
+    @Test
+    public void countsReferencePositionsOn0x88() {
+        for (String[] position : REFERENCE_POSITIONS) {
+            String[] expected = position[2].split(" ");
+            Board board = new BoardInitializer().initializeFromFen(position[1]);
+            Perft perft = new Perft(new Board0x88(board), MAX_DEPTH);
+            for (int depth = 1; depth <= MAX_DEPTH; depth++) {
+                assertEquals(Long.parseLong(expected[depth - 1]), perft.perft(depth),
+                        position[0] + ", depth " + depth);
+            }
+        }
+    }
+
+    @Test
+    public void countsStagedMoves() {
+        for (String[] position : REFERENCE_POSITIONS) {
+            String[] expected = position[2].split(" ");
+            Board board = new BoardInitializer().initializeFromFen(position[1]);
+            MovePicker[] pickers = new MovePicker[MAX_DEPTH + 1];
+            for (int i = 0; i < pickers.length; i++) {
+                pickers[i] = new MovePicker();
+            }
+            for (int depth = 1; depth <= MAX_DEPTH; depth++) {
+                assertEquals(Long.parseLong(expected[depth - 1]), perftStaged(board, pickers, depth),
+                        position[0] + ", depth " + depth);
+            }
+        }
+    }
+
+    @Test
+    public void divideAddsUpToPerft() {
+        Perft perft = new Perft(new BoardInitializer().initializeFromFen(REFERENCE_POSITIONS[1][1]), 3);
+        long total = 0;
+        for (long nodes : perft.divide(3).values()) {
+            total += nodes;
+        }
+        assertEquals(perft.perft(3), total);
+    }
+
+    @Test
+    public void countingDoesNotAllocate() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+                "allocation isn't measurable by this JVM");
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled(),
+                "allocation isn't measurable by this JVM");
+
+        long thread = Thread.currentThread().getId();
+        for (String[] position : REFERENCE_POSITIONS) {
+            Perft perft = new Perft(new BoardInitializer().initializeFromFen(position[1]), MAX_DEPTH);
+            //the first count fills the buffers of every ply
+            perft.perft(MAX_DEPTH);
+
+            //the JIT compiler can allocate a few bytes in the counting thread while it replaces compiled
+            //code, whereas an allocation per position shows up in every count, so the least count is taken
+            long least = Long.MAX_VALUE;
+            for (int i = 0; i < ALLOCATION_COUNTS; i++) {
+                long before = threads.getThreadAllocatedBytes(thread);
+                perft.perft(MAX_DEPTH);
+                least = Math.min(least, threads.getThreadAllocatedBytes(thread) - before);
+            }
+            assertEquals(0, least, position[0] + ", bytes allocated");
+        }
+    }
+
+    /* Counts the leaf nodes with the Moves handed out by the MovePicker of the ply */
+    private static long perftStaged(Board board, MovePicker[] pickers, int depth) {
+        MovePicker picker = pickers[depth];
+        picker.init(board, NO_KILLERS);
+        long nodes = 0;
+        for (int move = picker.next(); move != PackedMove.NONE; move = picker.next()) {
+            if (depth == 1) {
+                nodes++;
+            } else {
+                board.makeMove(move);
+                nodes += perftStaged(board, pickers, depth - 1);
+                board.unmakeMove();
+            }
+        }
+        return nodes;
+    }
+}